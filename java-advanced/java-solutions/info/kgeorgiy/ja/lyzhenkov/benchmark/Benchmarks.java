@@ -0,0 +1,108 @@
+package info.kgeorgiy.ja.lyzhenkov.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Minimal time-based benchmark runner shared by the benchmark suites.
+ * <p>
+ * Each operation is warmed up for {@link #WARMUP_NANOS} and then run repeatedly for at least
+ * {@link #MEASURE_NANOS}; the average time per call is reported. Results of the operation are consumed,
+ * so the JIT cannot eliminate the measured work. Latency reports time every call separately
+ * and print percentiles instead of the average.
+ */
+public final class Benchmarks {
+
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+    private static volatile int sink;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Measures the average time of an operation.
+     *
+     * @param operation operation to measure.
+     * @return average time per call in nanoseconds.
+     * @throws Exception if the operation fails.
+     */
+    public static double measure(final Callable<?> operation) throws Exception {
+        run(operation, WARMUP_NANOS);
+        return run(operation, MEASURE_NANOS);
+    }
+
+    private static double run(final Callable<?> operation, final long duration) throws Exception {
+        var calls = 0L;
+        var start = System.nanoTime();
+        var elapsed = 0L;
+        while (elapsed < duration) {
+            consume(operation.call());
+            calls++;
+            elapsed = System.nanoTime() - start;
+        }
+        return (double) elapsed / calls;
+    }
+
+    private static void consume(final Object result) {
+        sink += System.identityHashCode(result);
+    }
+
+    /**
+     * Measures an operation and prints the result as a table row.
+     *
+     * @param suite     name of the benchmark suite.
+     * @param name      name of the benchmark.
+     * @param operation operation to measure.
+     * @throws Exception if the operation fails.
+     */
+    public static void report(final String suite, final String name, final Callable<?> operation) throws Exception {
+        System.out.printf("%-40s %-32s %14.3f us/op%n", suite, name, measure(operation) / 1000);
+    }
+
+    /**
+     * Measures the time of every call of an operation.
+     *
+     * @param operation operation to measure.
+     * @return sorted times of the calls in nanoseconds.
+     * @throws Exception if the operation fails.
+     */
+    public static long[] measureLatencies(final Callable<?> operation) throws Exception {
+        run(operation, WARMUP_NANOS);
+        final long end = System.nanoTime() + MEASURE_NANOS;
+        long[] latencies = new long[1024];
+        int calls = 0;
+        long start = System.nanoTime();
+        while (start < end) {
+            consume(operation.call());
+            final long finish = System.nanoTime();
+            if (calls == latencies.length) {
+                latencies = Arrays.copyOf(latencies, calls * 2);
+            }
+            latencies[calls++] = finish - start;
+            start = finish;
+        }
+        latencies = Arrays.copyOf(latencies, calls);
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static double percentile(final long[] sorted, final double fraction) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * fraction) - 1)] / 1000.0;
+    }
+
+    /**
+     * Measures the latencies of an operation and prints the median, 99th percentile and maximum as a table row.
+     *
+     * @param suite     name of the benchmark suite.
+     * @param name      name of the benchmark.
+     * @param operation operation to measure.
+     * @throws Exception if the operation fails.
+     */
+    public static void reportLatencies(final String suite, final String name, final Callable<?> operation)
+            throws Exception {
+        final long[] latencies = measureLatencies(operation);
+        System.out.printf("%-40s %-32s p50 %12.3f us  p99 %12.3f us  max %12.3f us%n", suite, name,
+                percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 1));
+    }
+}
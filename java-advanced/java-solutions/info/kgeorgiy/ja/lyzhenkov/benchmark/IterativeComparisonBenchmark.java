@@ -0,0 +1,103 @@
+package info.kgeorgiy.ja.lyzhenkov.benchmark;
+
+import info.kgeorgiy.ja.lyzhenkov.iterative.IterativeParallelism;
+import info.kgeorgiy.ja.lyzhenkov.iterative.ParallelMapperImpl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compares {@link IterativeParallelism} with and without {@link ParallelMapperImpl} against {@code parallelStream}.
+ * <p>
+ * Every combination of list size, thread count, step and predicate cost is measured for {@code count}
+ * and {@code filter}. The stream baseline runs in a {@link ForkJoinPool} of {@code threads} workers
+ * and visits the same values as the step view of {@link IterativeParallelism}.
+ * <p>
+ * Usage: {@code java IterativeComparisonBenchmark [threads...]}, by default 1 and 4 threads.
+ */
+public final class IterativeComparisonBenchmark {
+
+    private static final int[] DEFAULT_THREADS = {1, 4};
+    private static final int[] SIZES = {1_000, 100_000, 1_000_000};
+    private static final int[] STEPS = {1, 4};
+    private static final List<Map.Entry<String, Predicate<Integer>>> PREDICATES = List.of(
+            Map.entry("cheap", value -> value % 3 == 0),
+            Map.entry("expensive", value -> ParallelMapperBenchmark.burn(value, 100) % 3 == 0)
+    );
+
+    private IterativeComparisonBenchmark() {
+    }
+
+    private static Stream<Integer> stepStream(final List<Integer> values, final int step) {
+        return IntStream.range(0, (values.size() + step - 1) / step).parallel().mapToObj(i -> values.get(i * step));
+    }
+
+    private static void benchmark(
+            final String suite,
+            final int threads,
+            final List<Integer> values,
+            final int step,
+            final Predicate<Integer> predicate,
+            final IterativeParallelism ip
+    ) throws Exception {
+        Benchmarks.report(suite, "count", () -> ip.count(threads, values, predicate, step));
+        Benchmarks.report(suite, "filter", () -> ip.filter(threads, values, predicate, step));
+    }
+
+    private static void benchmarkStream(
+            final String suite,
+            final ForkJoinPool pool,
+            final List<Integer> values,
+            final int step,
+            final Predicate<Integer> predicate
+    ) throws Exception {
+        Benchmarks.report(suite, "count",
+                () -> pool.submit(() -> stepStream(values, step).filter(predicate).count()).get());
+        Benchmarks.report(suite, "filter",
+                () -> pool.submit(() -> stepStream(values, step).filter(predicate).toList()).get());
+    }
+
+    /**
+     * Measures every implementation on every size, step and predicate with the given number of threads.
+     */
+    private static void benchmarkComparison(final int threads) throws Exception {
+        final IterativeParallelism threadsIp = new IterativeParallelism(IterativeParallelism.Backend.THREADS);
+        try (var mapper = new ParallelMapperImpl(threads); var pool = new ForkJoinPool(threads)) {
+            final IterativeParallelism mapperIp = new IterativeParallelism(mapper);
+            for (final int size : SIZES) {
+                final List<Integer> values = IntStream.range(0, size).boxed().toList();
+                for (final int step : STEPS) {
+                    for (final var predicate : PREDICATES) {
+                        final String params = String.format("%d/%d/%d/%s", size, threads, step, predicate.getKey());
+                        benchmark("compare/THREADS/" + params, threads, values, step, predicate.getValue(),
+                                threadsIp);
+                        benchmark("compare/MAPPER/" + params, threads, values, step, predicate.getValue(), mapperIp);
+                        benchmarkStream("compare/STREAM/" + params, pool, values, step, predicate.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(final String[] args) {
+        final int[] threads;
+        try {
+            threads = args.length == 0 ? DEFAULT_THREADS : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        } catch (final NumberFormatException e) {
+            System.err.println("Input must be: [threads...]");
+            return;
+        }
+        try {
+            for (final int count : threads) {
+                benchmarkComparison(count);
+            }
+        } catch (final Exception e) {
+            System.err.println("Benchmark failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package info.kgeorgiy.ja.lyzhenkov.benchmark;
+
+import info.kgeorgiy.ja.lyzhenkov.iterative.IterativeParallelism;
+import info.kgeorgiy.ja.lyzhenkov.iterative.ParallelMapperImpl;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks {@link IterativeParallelism} with every execution backend and with {@link ParallelMapperImpl}.
+ * <p>
+ * The overhead suite measures small inputs with trivial operations. The skewed suite measures the latency
+ * of {@code count} when the expensive values are concentrated at the start of the list, so that an equal split
+ * into {@code threads} chunks leaves most threads idle; the mapper is run with and without over-decomposition.
+ * The placement suite repeatedly sums the same {@code int} arrays with both {@link ParallelMapperImpl.Placement
+ * placements} of the mapper, from sizes that fit into the caches of the workers to sizes that do not.
+ * <p>
+ * Usage: {@code java IterativeParallelismBenchmark [threads]}, by default 4 threads.
+ */
+public final class IterativeParallelismBenchmark {
+
+    private static final int DEFAULT_THREADS = 4;
+    private static final int[] OVERHEAD_SIZES = {10, 100, 1_000};
+    private static final int SKEWED_SIZE = 10_000;
+    private static final int SKEWED_HEAVY = SKEWED_SIZE / 16;
+    private static final int[] CHUNKS_PER_THREAD = {1, 4, 8};
+    private static final int[] PLACEMENT_SIZES = {1 << 16, 1 << 18, 1 << 20, 1 << 22};
+
+    private IterativeParallelismBenchmark() {
+    }
+
+    private static List<Integer> values(final int size) {
+        return IntStream.range(0, size).boxed().toList();
+    }
+
+    /**
+     * Measures per-call overhead: small lists with a trivial comparator.
+     */
+    private static void benchmarkOverhead(final int threads) throws Exception {
+        for (final int size : OVERHEAD_SIZES) {
+            final List<Integer> values = values(size);
+            for (final IterativeParallelism.Backend backend : IterativeParallelism.Backend.values()) {
+                final IterativeParallelism ip = new IterativeParallelism(backend);
+                Benchmarks.report(String.format("overhead/%s/%d/%d", backend, size, threads), "maximum",
+                        () -> ip.maximum(threads, values, Comparator.naturalOrder()));
+            }
+            try (var mapper = new ParallelMapperImpl(threads)) {
+                final IterativeParallelism ip = new IterativeParallelism(mapper);
+                Benchmarks.report(String.format("overhead/MAPPER/%d/%d", size, threads), "maximum",
+                        () -> ip.maximum(threads, values, Comparator.naturalOrder()));
+            }
+        }
+    }
+
+    /**
+     * Measures tail latency on a workload whose first {@link #SKEWED_HEAVY} values are 1000 times more expensive.
+     */
+    private static void benchmarkSkewed(final int threads) throws Exception {
+        final List<Integer> values = values(SKEWED_SIZE);
+        final Predicate<Integer> predicate = value ->
+                ParallelMapperBenchmark.burn(value, value < SKEWED_HEAVY ? 10_000 : 10) % 3 == 0;
+        for (final IterativeParallelism.Backend backend : IterativeParallelism.Backend.values()) {
+            final IterativeParallelism ip = new IterativeParallelism(backend);
+            Benchmarks.reportLatencies(String.format("skewed/%s/%d", backend, threads), "count",
+                    () -> ip.count(threads, values, predicate));
+        }
+        try (var mapper = new ParallelMapperImpl(threads)) {
+            for (final int chunks : CHUNKS_PER_THREAD) {
+                final IterativeParallelism ip = new IterativeParallelism(mapper, false, chunks);
+                Benchmarks.reportLatencies(String.format("skewed/MAPPER*%d/%d", chunks, threads), "count",
+                        () -> ip.count(threads, values, predicate));
+            }
+        }
+    }
+
+    /**
+     * Measures repeated scans of the same arrays, where a consistent placement keeps each chunk in one cache.
+     */
+    private static void benchmarkPlacement(final int threads) throws Exception {
+        for (final int size : PLACEMENT_SIZES) {
+            final int[] values = IntStream.range(0, size).toArray();
+            for (final ParallelMapperImpl.Placement placement : ParallelMapperImpl.Placement.values()) {
+                try (var mapper = new ParallelMapperImpl(threads, placement)) {
+                    final IterativeParallelism ip = new IterativeParallelism(mapper);
+                    Benchmarks.report(String.format("placement/%s/%d/%d", placement, size, threads), "reduce(int[])",
+                            () -> ip.reduce(threads, values, 0, Integer::sum, 1));
+                }
+            }
+        }
+    }
+
+    public static void main(final String[] args) {
+        final int threads;
+        try {
+            threads = args.length == 0 ? DEFAULT_THREADS : Integer.parseInt(args[0]);
+        } catch (final NumberFormatException e) {
+            System.err.println("Input must be: [threads]");
+            return;
+        }
+        try {
+            benchmarkOverhead(threads);
+            benchmarkSkewed(threads);
+            benchmarkPlacement(threads);
+        } catch (final Exception e) {
+            System.err.println("Benchmark failed: " + e.getMessage());
+        }
+    }
+}
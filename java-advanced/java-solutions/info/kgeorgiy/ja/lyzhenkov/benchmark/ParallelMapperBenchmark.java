@@ -0,0 +1,80 @@
+package info.kgeorgiy.ja.lyzhenkov.benchmark;
+
+import info.kgeorgiy.ja.lyzhenkov.iterative.ParallelMapperImpl;
+import info.kgeorgiy.ja.lyzhenkov.iterative.WorkStealingParallelMapper;
+import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks {@link ParallelMapper} implementations on fine-grained and coarse-grained tasks.
+ * <p>
+ * Usage: {@code java ParallelMapperBenchmark [threads...]}, by default 1, 4 and 32 worker threads.
+ */
+public final class ParallelMapperBenchmark {
+
+    private static final int[] DEFAULT_THREADS = {1, 4, 32};
+    private static final int[] SIZES = {1_000, 100_000};
+
+    private ParallelMapperBenchmark() {
+    }
+
+    private static Map<String, IntFunction<ParallelMapper>> mappers() {
+        final Map<String, IntFunction<ParallelMapper>> mappers = new LinkedHashMap<>();
+        mappers.put("ParallelMapperImpl", ParallelMapperImpl::new);
+        mappers.put("WorkStealingParallelMapper", WorkStealingParallelMapper::new);
+        return mappers;
+    }
+
+    /**
+     * Burns roughly {@code iterations} units of CPU time and returns a value depending on the argument.
+     */
+    static int burn(final int value, final int iterations) {
+        int result = value;
+        for (int i = 0; i < iterations; i++) {
+            result = result * 31 + i;
+        }
+        return result;
+    }
+
+    private static Map<String, Function<Integer, Integer>> functions() {
+        final Map<String, Function<Integer, Integer>> functions = new LinkedHashMap<>();
+        functions.put("fine", value -> value + 1);
+        functions.put("coarse", value -> burn(value, 10_000));
+        return functions;
+    }
+
+    public static void main(final String[] args) {
+        final int[] threads;
+        try {
+            threads = args.length == 0 ? DEFAULT_THREADS : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        } catch (final NumberFormatException e) {
+            System.err.println("Input must be: [threads...]");
+            return;
+        }
+        try {
+            for (final int size : SIZES) {
+                final List<Integer> items = IntStream.range(0, size).boxed().toList();
+                for (final int count : threads) {
+                    for (final var mapper : mappers().entrySet()) {
+                        try (var instance = mapper.getValue().apply(count)) {
+                            final String suite = String.format("%s/%d/%d", mapper.getKey(), size, count);
+                            for (final var function : functions().entrySet()) {
+                                Benchmarks.report(suite, function.getKey(),
+                                        () -> instance.map(function.getValue(), items));
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (final Exception e) {
+            System.err.println("Benchmark failed: " + e.getMessage());
+        }
+    }
+}
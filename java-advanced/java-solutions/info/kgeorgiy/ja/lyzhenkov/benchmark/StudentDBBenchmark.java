@@ -0,0 +1,187 @@
+package info.kgeorgiy.ja.lyzhenkov.benchmark;
+
+import info.kgeorgiy.ja.lyzhenkov.student.CachingGroupQuery;
+import info.kgeorgiy.ja.lyzhenkov.student.StudentDB;
+import info.kgeorgiy.ja.lyzhenkov.student.StudentLoader;
+import info.kgeorgiy.java.advanced.student.AdvancedQuery;
+import info.kgeorgiy.java.advanced.student.GroupName;
+import info.kgeorgiy.java.advanced.student.GroupQuery;
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks every {@link GroupQuery} and {@link AdvancedQuery} method of the student query implementations
+ * and the throughput of {@link StudentLoader}.
+ * <p>
+ * Rosters are synthetic with a realistic skew: a few first names, last names and groups are much more frequent
+ * than the rest. {@link CachingGroupQuery} is queried over a {@link CachingGroupQuery#snapshot snapshot} of the roster.
+ * Usage: {@code java StudentDBBenchmark [size...]}, by default sizes from 10^3 to 10^6.
+ */
+public final class StudentDBBenchmark {
+
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final int FIRST_NAMES = 2_000;
+    private static final int LAST_NAMES = 50_000;
+    private static final int INDICES = 1_000;
+    private static final GroupName[] GROUPS = GroupName.values();
+
+    private StudentDBBenchmark() {
+    }
+
+    /**
+     * Picks an index in {@code [0, bound)} with a power-law skew towards small indices.
+     */
+    private static int skewed(final Random random, final int bound, final int power) {
+        return (int) (bound * Math.pow(random.nextDouble(), power));
+    }
+
+    /**
+     * Generates a roster of students with unique ids in random order.
+     *
+     * @param size   number of students.
+     * @param random source of randomness.
+     * @return generated roster.
+     */
+    public static List<Student> generate(final int size, final Random random) {
+        final List<Integer> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(i);
+        }
+        Collections.shuffle(ids, random);
+        final List<Student> students = new ArrayList<>(size);
+        for (final int id : ids) {
+            students.add(new Student(
+                    id,
+                    "First" + skewed(random, FIRST_NAMES, 3),
+                    "Last" + skewed(random, LAST_NAMES, 2),
+                    GROUPS[skewed(random, GROUPS.length, 2)]
+            ));
+        }
+        return students;
+    }
+
+    private static Map<String, Supplier<GroupQuery>> implementations() {
+        final Map<String, Supplier<GroupQuery>> implementations = new LinkedHashMap<>();
+        implementations.put("StudentDB", StudentDB::new);
+        implementations.put("CachingGroupQuery", CachingGroupQuery::new);
+        return implementations;
+    }
+
+    private static Map<String, BiFunction<GroupQuery, List<Student>, ?>> groupQueries() {
+        final Map<String, BiFunction<GroupQuery, List<Student>, ?>> queries = new LinkedHashMap<>();
+        queries.put("getFirstNames", GroupQuery::getFirstNames);
+        queries.put("getLastNames", GroupQuery::getLastNames);
+        queries.put("getGroups", GroupQuery::getGroups);
+        queries.put("getFullNames", GroupQuery::getFullNames);
+        queries.put("getDistinctFirstNames", GroupQuery::getDistinctFirstNames);
+        queries.put("getMaxStudentFirstName", GroupQuery::getMaxStudentFirstName);
+        queries.put("sortStudentsById", GroupQuery::sortStudentsById);
+        queries.put("sortStudentsByName", GroupQuery::sortStudentsByName);
+        queries.put("findStudentsByFirstName", (db, students) -> db.findStudentsByFirstName(students, "First0"));
+        queries.put("findStudentsByLastName", (db, students) -> db.findStudentsByLastName(students, "Last0"));
+        queries.put("findStudentsByGroup", (db, students) -> db.findStudentsByGroup(students, GROUPS[0]));
+        queries.put("findStudentNamesByGroup", (db, students) -> db.findStudentNamesByGroup(students, GROUPS[0]));
+        queries.put("getGroupsByName", GroupQuery::getGroupsByName);
+        queries.put("getGroupsById", GroupQuery::getGroupsById);
+        queries.put("getLargestGroup", GroupQuery::getLargestGroup);
+        queries.put("getLargestGroupFirstName", GroupQuery::getLargestGroupFirstName);
+        return queries;
+    }
+
+    private static Map<String, BiFunction<AdvancedQuery, List<Student>, ?>> advancedQueries(final int[] indices) {
+        final Map<String, BiFunction<AdvancedQuery, List<Student>, ?>> queries = new LinkedHashMap<>();
+        queries.put("getMostPopularName", AdvancedQuery::getMostPopularName);
+        queries.put("getLeastPopularName", AdvancedQuery::getLeastPopularName);
+        queries.put("getFirstNames(indices)", (db, students) -> db.getFirstNames(students, indices));
+        queries.put("getLastNames(indices)", (db, students) -> db.getLastNames(students, indices));
+        queries.put("getGroups(indices)", (db, students) -> db.getGroups(students, indices));
+        queries.put("getFullNames(indices)", (db, students) -> db.getFullNames(students, indices));
+        return queries;
+    }
+
+    private static <Q> void benchmark(
+            final String suite,
+            final Q db,
+            final Map<String, BiFunction<Q, List<Student>, ?>> queries,
+            final List<Student> students
+    ) throws Exception {
+        for (final var query : queries.entrySet()) {
+            Benchmarks.report(suite, query.getKey(), () -> query.getValue().apply(db, students));
+        }
+    }
+
+    private static void benchmarkQueries(final int size, final List<Student> students) throws Exception {
+        final int[] indices = new Random(size).ints(INDICES, 0, size).toArray();
+        for (final var implementation : implementations().entrySet()) {
+            final GroupQuery db = implementation.getValue().get();
+            final String suite = implementation.getKey() + "/" + size;
+            final List<Student> roster = db instanceof CachingGroupQuery
+                    ? CachingGroupQuery.snapshot(students)
+                    : students;
+            benchmark(suite, db, groupQueries(), roster);
+            if (db instanceof AdvancedQuery advanced) {
+                benchmark(suite, advanced, advancedQueries(indices), roster);
+            }
+        }
+    }
+
+    private static void benchmarkLoader(final int size, final List<Student> students) throws Exception {
+        final Path binary = Files.createTempFile("students", ".bin");
+        final Path csv = Files.createTempFile("students", ".csv");
+        try {
+            StudentLoader.writeBinary(binary, students);
+            writeCsv(csv, students);
+            final String suite = "StudentLoader/" + size;
+            Benchmarks.report(suite, "readBinary", () -> load(loader -> loader.readBinary(binary, ignored -> {})));
+            Benchmarks.report(suite, "readCsv", () -> load(loader -> loader.readCsv(csv, ignored -> {})));
+        } finally {
+            Files.deleteIfExists(binary);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    private static void writeCsv(final Path file, final List<Student> students) throws IOException {
+        try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (final Student student : students) {
+                writer.write(String.format("%d,%s,%s,%s%n",
+                        student.getId(), student.getFirstName(), student.getLastName(), student.getGroup()));
+            }
+        }
+    }
+
+    private interface LoaderAction {
+        void run(StudentLoader loader) throws IOException;
+    }
+
+    private static StudentLoader load(final LoaderAction action) throws IOException {
+        final StudentLoader loader = new StudentLoader();
+        action.run(loader);
+        return loader;
+    }
+
+    public static void main(final String[] args) {
+        final int[] sizes;
+        try {
+            sizes = args.length == 0 ? DEFAULT_SIZES : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        } catch (final NumberFormatException e) {
+            System.err.println("Input must be: [size...]");
+            return;
+        }
+        try {
+            for (final int size : sizes) {
+                final List<Student> students = generate(size, new Random(size));
+                benchmarkQueries(size, students);
+                benchmarkLoader(size, students);
+            }
+        } catch (final Exception e) {
+            System.err.println("Benchmark failed: " + e.getMessage());
+        }
+    }
+}
@@ -1,32 +1,290 @@
 package info.kgeorgiy.ja.lyzhenkov.iterative;
 
-import info.kgeorgiy.java.advanced.iterative.NewListIP;
+import info.kgeorgiy.java.advanced.iterative.AdvancedIP;
 import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
 
 import java.util.*;
-import java.util.function.BinaryOperator;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.*;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class IterativeParallelism implements NewListIP {
+public class IterativeParallelism implements AdvancedIP, PrimitiveIP {
+
+    private static final long PARALLEL_COMBINE_NANOS = 100_000;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int ANY_CHECK_INTERVAL = 1 << 10;
+    private static final int SAMPLE_SIZE = 32;
+    private static final long MAPPER_TASK_NANOS = 10_000;
+    private static final System.Logger LOGGER = System.getLogger(IterativeParallelism.class.getName());
+
+    /**
+     * Execution backend used to run the chunks of a computation when no {@link ParallelMapper} is given.
+     */
+    public enum Backend {
+        /** Starts a new platform thread per chunk. */
+        THREADS(() -> Executors.newThreadPerTaskExecutor(Thread.ofPlatform().factory()), false, 80_000),
+        /** Runs chunks on a shared pool of reusable platform daemon threads. */
+        PLATFORM_POOL(() -> SharedPool.POOL, true, 10_000),
+        /** Starts a new virtual thread per chunk. */
+        VIRTUAL_THREADS(Executors::newVirtualThreadPerTaskExecutor, false, 10_000),
+        /** Runs chunks on the {@link ForkJoinPool#commonPool() common pool}. */
+        FORK_JOIN_POOL(ForkJoinPool::commonPool, true, 5_000);
+
+        private final Supplier<ExecutorService> executor;
+        private final boolean shared;
+        /** Approximate cost of starting one chunk, used by the adaptive mode. */
+        private final long taskNanos;
+
+        Backend(final Supplier<ExecutorService> executor, final boolean shared, final long taskNanos) {
+            this.executor = executor;
+            this.shared = shared;
+            this.taskNanos = taskNanos;
+        }
+    }
+
+    private static final class SharedPool {
+        private static final ExecutorService POOL = Executors.newCachedThreadPool(
+                Thread.ofPlatform().name("iterative-parallelism-", 0).daemon().factory());
+    }
 
     private final ParallelMapper mapper;
+    private final Backend backend;
+    private final boolean adaptive;
+    private final int chunksPerThread;
 
-    public IterativeParallelism(final ParallelMapper mapper) {
+    /**
+     * Creates an instance that runs chunks on the given mapper.
+     * <p>
+     * With {@code chunksPerThread > 1}, the values are over-decomposed into that many times more chunks
+     * than {@code threads}, and the mapper balances them over its workers, so a chunk of expensive values
+     * does not keep the other workers idle. The price is more chunk results to combine; 4 to 8 chunks
+     * per thread are usually enough for skewed workloads.
+     *
+     * @param mapper          mapper to run chunks on.
+     * @param adaptive        whether {@code threads} is only an upper bound and the actual number of chunks
+     *                        is chosen from the measured cost of the elements.
+     * @param chunksPerThread number of chunks per requested thread.
+     * @throws IllegalArgumentException if the number of chunks per thread is less than 1.
+     */
+    public IterativeParallelism(final ParallelMapper mapper, final boolean adaptive, final int chunksPerThread) {
+        if (chunksPerThread < 1) {
+            throw new IllegalArgumentException(
+                    "The number of chunks per thread must be at least 1, but received: " + chunksPerThread);
+        }
         this.mapper = mapper;
+        this.backend = Backend.THREADS;
+        this.adaptive = adaptive;
+        this.chunksPerThread = chunksPerThread;
     }
 
-    public IterativeParallelism() {
+    /**
+     * Creates an instance that runs chunks on the given mapper.
+     *
+     * @param mapper   mapper to run chunks on.
+     * @param adaptive whether {@code threads} is only an upper bound and the actual number of chunks
+     *                 is chosen from the measured cost of the elements.
+     */
+    public IterativeParallelism(final ParallelMapper mapper, final boolean adaptive) {
+        this(mapper, adaptive, 1);
+    }
+
+    /**
+     * Creates an instance that runs chunks on the given backend.
+     *
+     * @param backend  backend to run chunks on.
+     * @param adaptive whether {@code threads} is only an upper bound and the actual number of chunks
+     *                 is chosen from the measured cost of the elements.
+     */
+    public IterativeParallelism(final Backend backend, final boolean adaptive) {
         this.mapper = null;
+        this.backend = Objects.requireNonNull(backend, "Backend is null");
+        this.adaptive = adaptive;
+        this.chunksPerThread = 1;
+    }
+
+    public IterativeParallelism(final ParallelMapper mapper) {
+        this(mapper, false);
+    }
+
+    public IterativeParallelism(final Backend backend) {
+        this(backend, false);
+    }
+
+    public IterativeParallelism() {
+        this(Backend.THREADS);
     }
 
     /**
-     * Executes a computation across multiple threads on a list of values, and combines the results using a combiner function.
+     * A range {@code [from, to)} of indices of the input list, processed by a single thread.
+     */
+    private record Chunk(int from, int to) {
+    }
+
+    /**
+     * Splits indices {@code [0, size)} into at most {@code threads} contiguous chunks of nearly equal size.
+     * At least one chunk is always returned, so computations over an empty list still run once.
+     *
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    private static List<Chunk> splitChunks(final int threads, final int size) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1, but received: " + threads);
+        }
+        var countThreads = Math.max(1, Math.min(threads, size));
+        var step = size / countThreads;
+        var rest = size % countThreads;
+        return IntStream.range(0, countThreads).mapToObj(it -> new Chunk(
+                step * it + Math.min(it, rest),
+                step * it + step + Math.min(it + 1, rest)
+        )).toList();
+    }
+
+    /**
+     * Runs a task for each chunk in parallel.
      * If the {@code mapper} is present, then {@code threads} are not created or used,
-     * and all work is delegated to the {@link #mapper}.
+     * and all work is delegated to the {@link #mapper}. Otherwise, the chunks are run by the {@link #backend}.
+     *
+     * @param chunks chunks to process.
+     * @param task   a function that performs the computation on a chunk.
+     * @param <C>    the type of the chunk descriptions.
+     * @param <R>    the type of the chunk results.
+     * @return results of the chunks, in chunk order.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for completion.
+     *                              Chunks that have not completed yet are cancelled.
+     */
+    private <C, R> List<R> runChunks(final List<C> chunks, final Function<? super C, R> task)
+            throws InterruptedException {
+        if (Objects.nonNull(this.mapper)) {
+            return mapper.map(task, chunks);
+        }
+
+        final List<Callable<R>> tasks = chunks.stream()
+                .<Callable<R>>map(chunk -> () -> task.apply(chunk))
+                .toList();
+        final ExecutorService service = backend.executor.get();
+        try {
+            final List<R> result = new ArrayList<>(chunks.size());
+            for (final Future<R> future : service.invokeAll(tasks)) {
+                result.add(getResult(future));
+            }
+            return result;
+        } finally {
+            if (!backend.shared) {
+                service.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Runs a task for each chunk either in parallel, see {@link #runChunks(List, Function)},
+     * or one by one on the calling thread.
+     */
+    private <C, R> List<R> runChunks(final List<C> chunks, final Function<? super C, R> task, final boolean sequential)
+            throws InterruptedException {
+        if (!sequential) {
+            return runChunks(chunks, task);
+        }
+        final List<R> result = new ArrayList<>(chunks.size());
+        for (final C chunk : chunks) {
+            result.add(task.apply(chunk));
+        }
+        return result;
+    }
+
+    /**
+     * Chunks of indices {@code [0, size)} in order and the results of a task on them.
+     *
+     * @param sequential whether the chunks were processed on the calling thread.
+     */
+    private record Chunked<R>(List<Chunk> chunks, List<R> results, boolean sequential) {
+    }
+
+    /**
+     * Splits indices {@code [0, size)} into chunks and runs a task for each chunk.
+     * <p>
+     * Normally, there are {@code min(threads * chunksPerThread, size)} chunks. In the adaptive mode, the task is
+     * first run on the calling thread for a sample of chunks of 1, 2, 4, ... elements, until the sample takes
+     * the cost {@code t} of starting a chunk or reaches {@value #SAMPLE_SIZE} elements, so a sample of expensive
+     * elements is just one or two of them. The sample gives the cost {@code c} of an element;
+     * the remaining {@code n} elements take about {@code n * c / p + p * t} with {@code p} chunks,
+     * which is minimal for {@code p = sqrt(n * c / t)}. So {@code p} is chosen as that value limited
+     * by {@code threads}; for {@code p = 1} the rest is processed on the calling thread as well.
+     *
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    private <R> Chunked<R> calcChunks(final int threads, final int size, final Function<? super Chunk, R> task)
+            throws InterruptedException {
+        if (!adaptive) {
+            final List<Chunk> chunks = splitChunks(decompose(threads), size);
+            return new Chunked<>(chunks, runChunks(chunks, task), false);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1, but received: " + threads);
+        }
+        if (size == 0) {
+            final List<Chunk> chunks = splitChunks(1, size);
+            return new Chunked<>(chunks, runChunks(chunks, task, true), true);
+        }
+
+        final long taskNanos = Objects.nonNull(mapper) ? MAPPER_TASK_NANOS : backend.taskNanos;
+        final int sampleLimit = Math.min(size, SAMPLE_SIZE);
+        final List<Chunk> chunks = new ArrayList<>();
+        final List<R> results = new ArrayList<>();
+        final long start = System.nanoTime();
+        long elapsed = 0;
+        int sampled = 0;
+        while (sampled < sampleLimit && elapsed < taskNanos) {
+            final Chunk chunk = new Chunk(sampled, Math.min(sampleLimit, 2 * sampled + 1));
+            chunks.add(chunk);
+            results.add(task.apply(chunk));
+            sampled = chunk.to();
+            elapsed = System.nanoTime() - start;
+        }
+        final int remaining = size - sampled;
+        if (remaining == 0) {
+            return new Chunked<>(chunks, results, true);
+        }
+
+        final double elementNanos = (double) elapsed / sampled;
+        final int parallelism = (int) Math.clamp(Math.sqrt(remaining * elementNanos / taskNanos), 1, threads);
+        LOGGER.log(System.Logger.Level.DEBUG, () -> String.format(
+                "Adaptive split of %d elements: %.1f ns per element, %d of %d threads",
+                size, elementNanos, parallelism, threads));
+
+        final int offset = sampled;
+        final List<Chunk> rest = splitChunks(decompose(parallelism), remaining).stream()
+                .map(chunk -> new Chunk(offset + chunk.from(), offset + chunk.to()))
+                .toList();
+        chunks.addAll(rest);
+        results.addAll(runChunks(rest, task, parallelism == 1));
+        return new Chunked<>(chunks, results, parallelism == 1);
+    }
+
+    /**
+     * Returns the number of chunks for the given number of threads and the chunks per thread of this instance.
+     */
+    private int decompose(final int threads) {
+        if (threads <= 1) {
+            return threads;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (long) threads * chunksPerThread);
+    }
+
+    /**
+     * Runs a task for the chunks of indices {@code [0, size)}.
+     *
+     * @return results of the chunks, in chunk order.
+     * @see #calcChunks(int, int, Function)
+     */
+    private <R> List<R> runChunks(final int threads, final int size, final Function<? super Chunk, R> task)
+            throws InterruptedException {
+        return calcChunks(threads, size, task).results();
+    }
+
+    /**
+     * Executes a computation across multiple threads on a list of values, and combines the results using a combiner function.
      *
      * @param threads  the number of threads to be used for parallel computation.
      * @param values   the list of values to be processed in parallel.
@@ -35,11 +293,9 @@ public class IterativeParallelism implements NewListIP {
      * @param <T>      the type of elements in the input list.
      * @param <R>      the type of the result produced by the combiner function.
      * @return the combined result of the parallel computations.
-     * @throws InterruptedException     along with suppressed interrupts.
-     *                                  If any thread is interrupted while waiting for completion,
-     *                                  it is suppressed with {@link Throwable#addSuppressed(Throwable)}.
-     *                                  The mapper also throws an exception.
+     * @throws InterruptedException     if the calling thread is interrupted while waiting for completion.
      * @throws IllegalArgumentException if the number of threads is less than 1.
+     * @see #runChunks(List, Function)
      */
     private <T, R> R calcListOnThreads(
             int threads,
@@ -47,56 +303,68 @@ public class IterativeParallelism implements NewListIP {
             Function<Stream<? extends T>, ? extends R> executor,
             Function<Stream<R>, ? extends R> combiner
     ) throws InterruptedException {
-        if (threads < 1) {
-            throw new IllegalArgumentException("The number of threads must be at least 1, but received: " + threads);
+        final List<R> result = runChunks(threads, values.size(),
+                chunk -> executor.apply(values.subList(chunk.from(), chunk.to()).stream()));
+        return combiner.apply(result.stream());
+    }
+
+    private static <R> R getResult(final Future<R> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
         }
-        var countThreads = Math.min(threads, values.size());
-        var step = values.size() / countThreads;
-        var rest = values.size() % countThreads;
-        var subList = IntStream.range(0, countThreads).mapToObj(it -> {
-            var left = step * it + Math.min(it, rest);
-            var right = step * it + step + Math.min(it + 1, rest);
+    }
 
-            return values.subList(left, right).stream();
-        }).collect(Collectors.toList());
+    /**
+     * Returns a view of every {@code step}-th element of {@code values}, starting from the first one.
+     * The elements are not copied, so the view is as cheap to create as it is to skip.
+     *
+     * @throws IllegalArgumentException if the step is less than 1.
+     */
+    private static <T> List<T> getElementsWithStep(final List<? extends T> values, final int step) {
+        return new StepList<>(values, step);
+    }
 
-        if (Objects.nonNull(this.mapper)) {
-            final List<R> result = mapper.map(executor, subList);
-            return combiner.apply(result.stream());
+    /**
+     * Returns the number of every {@code step}-th element among {@code length} elements.
+     *
+     * @throws IllegalArgumentException if the step is less than 1.
+     */
+    private static int sizeWithStep(final int length, final int step) {
+        if (step < 1) {
+            throw new IllegalArgumentException("The step must be at least 1, but received: " + step);
         }
-
-        final List<R> result = new ArrayList<>(Collections.nCopies(countThreads, null));
-        var poolThreads = IntStream.range(0, countThreads)
-                .mapToObj(it -> new Thread(() -> result.set(it, executor.apply(subList.get(it)))))
-                .peek(Thread::start).toList();
-        joinThreads(poolThreads);
-        return combiner.apply(result.stream());
+        return (int) (((long) length + step - 1) / step);
     }
 
-    private static void joinThreads(final List<Thread> poolThreads) throws InterruptedException {
-        InterruptedException exceptions = null;
-        for (final Thread thread : poolThreads) {
-            try {
-                thread.join();
-            } catch (final InterruptedException e) {
-                if (Objects.nonNull(exceptions)) {
-                    exceptions.addSuppressed(e);
-                } else {
-                    exceptions = e;
-                }
-            }
+    private static final class StepList<T> extends AbstractList<T> implements RandomAccess {
+        private final List<? extends T> values;
+        private final int step;
+        private final int size;
+
+        private StepList(final List<? extends T> values, final int step) {
+            this.values = values;
+            this.step = step;
+            this.size = sizeWithStep(values.size(), step);
         }
-        if (Objects.nonNull(exceptions)) {
-            throw exceptions;
+
+        @Override
+        public T get(final int index) {
+            Objects.checkIndex(index, size);
+            return values.get(index * step);
         }
-    }
 
-    private static <T> List<T> getElementsWithStep(final List<? extends T> values, final int step) {
-        var res = new ArrayList<T>();
-        for (int i = 0; i < values.size(); i += step) {
-            res.add(values.get(i));
+        @Override
+        public int size() {
+            return size;
         }
-        return res;
     }
 
     @Override
@@ -132,10 +400,28 @@ public class IterativeParallelism implements NewListIP {
     @Override
     public <T> T maximum(int threads, List<? extends T> values, Comparator<? super T> comparator)
             throws InterruptedException {
-        return calcListOnThreads(threads,
-                values,
-                stream -> stream.max(comparator).orElseThrow(NoSuchElementException::new),
-                stream -> stream.reduce(BinaryOperator.maxBy(comparator)).orElseThrow(NoSuchElementException::new));
+        return calcListOnThreads(threads, values, stream -> max(stream, comparator), stream -> max(stream, comparator));
+    }
+
+    /**
+     * Returns the first maximal value of a stream. Unlike {@link Stream#max(Comparator)}, the maximum
+     * may be {@code null} if the comparator accepts it.
+     *
+     * @throws NoSuchElementException if the stream is empty.
+     */
+    private static <T> T max(final Stream<? extends T> stream, final Comparator<? super T> comparator) {
+        final Iterator<? extends T> iterator = stream.iterator();
+        if (!iterator.hasNext()) {
+            throw new NoSuchElementException("No values are given");
+        }
+        T result = iterator.next();
+        while (iterator.hasNext()) {
+            final T value = iterator.next();
+            if (comparator.compare(value, result) > 0) {
+                result = value;
+            }
+        }
+        return result;
     }
 
     @Override
@@ -147,13 +433,26 @@ public class IterativeParallelism implements NewListIP {
     @Override
     public <T> boolean all(int threads, List<? extends T> values, Predicate<? super T> predicate)
             throws InterruptedException {
-        return count(threads, values, predicate) == values.size();
+        return !any(threads, values, predicate.negate());
     }
 
+    /**
+     * Checks whether any value satisfies the predicate. As soon as one thread finds such a value,
+     * the others stop testing their values at the next element.
+     */
     @Override
     public <T> boolean any(int threads, List<? extends T> values, Predicate<? super T> predicate)
             throws InterruptedException {
-        return count(threads, values, predicate) > 0;
+        final AtomicBoolean found = new AtomicBoolean();
+        return calcListOnThreads(threads,
+                values,
+                stream -> {
+                    if (stream.takeWhile(ignored -> !found.get()).anyMatch(predicate)) {
+                        found.set(true);
+                    }
+                    return found.get();
+                },
+                stream -> stream.anyMatch(Boolean::booleanValue));
     }
 
     @Override
@@ -182,32 +481,399 @@ public class IterativeParallelism implements NewListIP {
         return map(threads, getElementsWithStep(values, step), f);
     }
 
+    /**
+     * Joins string representations of values in two parallel passes. The first pass appends the values
+     * of each chunk to a builder of its own; the second pass copies the characters of each chunk builder
+     * directly into a single preallocated array at the offset given by the prefix sum of the builder lengths,
+     * releasing the builder once it is copied.
+     *
+     * @throws OutOfMemoryError if the joined string is longer than the maximum array size.
+     */
     @Override
     public String join(int threads, List<?> values) throws InterruptedException {
-        return calcListOnThreads(threads,
-                values,
-                stream -> stream.map(Object::toString).collect(Collectors.joining()),
-                stream -> stream.collect(Collectors.joining()));
+        final Chunked<StringBuilder> chunked = calcChunks(threads, values.size(), chunk -> {
+            final StringBuilder builder = new StringBuilder();
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                builder.append(values.get(i).toString());
+            }
+            return builder;
+        });
+        final StringBuilder[] builders = chunked.results().toArray(StringBuilder[]::new);
+
+        final int[] offsets = new int[builders.length + 1];
+        long total = 0;
+        for (int i = 0; i < builders.length; i++) {
+            total += builders[i].length();
+            if (total > MAX_ARRAY_SIZE) {
+                throw new OutOfMemoryError("Joined string is too long: more than " + MAX_ARRAY_SIZE + " chars");
+            }
+            offsets[i + 1] = (int) total;
+        }
+        final char[] result = new char[offsets[builders.length]];
+        runChunks(IntStream.range(0, builders.length).boxed().toList(), index -> {
+            final StringBuilder builder = builders[index];
+            builders[index] = null;
+            builder.getChars(0, builder.length(), result, offsets[index]);
+            return null;
+        }, chunked.sequential());
+        return new String(result);
     }
 
+    /**
+     * Filters values in two parallel passes. The first pass tests every value once, remembering the results
+     * and counting matches per chunk; the second pass writes the matching values of each chunk directly into
+     * the result array at the offset given by the prefix sum of the counts of the previous chunks.
+     */
     @Override
     public <T> List<T> filter(int threads, List<? extends T> values, Predicate<? super T> predicate)
             throws InterruptedException {
-        return mapOrFilter(threads, values, stream -> stream.filter(predicate).collect(Collectors.toList()));
+        final boolean[] matches = new boolean[values.size()];
+        final Chunked<Integer> chunked = calcChunks(threads, values.size(), chunk -> {
+            int count = 0;
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                if (predicate.test(values.get(i))) {
+                    matches[i] = true;
+                    count++;
+                }
+            }
+            return count;
+        });
+        final List<Chunk> chunks = chunked.chunks();
+        final List<Integer> counts = chunked.results();
+
+        final int[] offsets = new int[chunks.size() + 1];
+        for (int i = 0; i < chunks.size(); i++) {
+            offsets[i + 1] = offsets[i] + counts.get(i);
+        }
+        final Object[] result = new Object[offsets[chunks.size()]];
+        runChunks(IntStream.range(0, chunks.size()).boxed().toList(), index -> {
+            final Chunk chunk = chunks.get(index);
+            int offset = offsets[index];
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                if (matches[i]) {
+                    result[offset++] = values.get(i);
+                }
+            }
+            return null;
+        }, chunked.sequential());
+        return asList(result);
     }
 
+    /**
+     * Maps values in parallel, each chunk writing its results directly into the result array.
+     */
     @Override
     public <T, U> List<U> map(int threads, List<? extends T> values, Function<? super T, ? extends U> f)
             throws InterruptedException {
-        return mapOrFilter(threads, values, stream -> stream.map(f).collect(Collectors.toList()));
+        final Object[] result = new Object[values.size()];
+        runChunks(threads, values.size(), chunk -> {
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                result[i] = f.apply(values.get(i));
+            }
+            return null;
+        });
+        return asList(result);
     }
 
-    private <T, R> List<R> mapOrFilter(
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> asList(final Object[] values) {
+        return (List<T>) Arrays.asList(values);
+    }
+
+    @Override
+    public <T> T reduce(int threads, List<T> values, T identity, BinaryOperator<T> operator, int step)
+            throws InterruptedException {
+        return mapReduce(threads, values, Function.identity(), identity, operator, step);
+    }
+
+    /**
+     * Maps and reduces values using monoid. Each chunk is reduced by its thread starting from {@code identity},
+     * then the chunk results are combined by {@link #combine(List, BinaryOperator)}.
+     */
+    @Override
+    public <T, R> R mapReduce(
             int threads,
-            List<? extends T> values,
-            Function<Stream<? extends T>, List<R>> executor
+            List<T> values,
+            Function<T, R> lift,
+            R identity,
+            BinaryOperator<R> operator,
+            int step
     ) throws InterruptedException {
-        return calcListOnThreads(threads, values, executor,
-                stream -> stream.flatMap(Collection::stream).collect(Collectors.toList()));
+        final List<T> view = getElementsWithStep(values, step);
+        final List<R> partials = runChunks(threads, view.size(),
+                chunk -> view.subList(chunk.from(), chunk.to()).stream().map(lift).reduce(identity, operator));
+        return combine(partials, operator);
+    }
+
+    /**
+     * Combines chunk results in order. The first two results are combined on the calling thread;
+     * if that took less than {@value #PARALLEL_COMBINE_NANOS}ns, the operator is considered cheap
+     * and the rest are combined sequentially. Otherwise, the results are combined as a tree:
+     * each level combines adjacent pairs in parallel, halving the number of results.
+     */
+    private <R> R combine(final List<R> partials, final BinaryOperator<R> operator) throws InterruptedException {
+        if (partials.size() == 1) {
+            return partials.get(0);
+        }
+        var start = System.nanoTime();
+        var first = operator.apply(partials.get(0), partials.get(1));
+        if (System.nanoTime() - start < PARALLEL_COMBINE_NANOS) {
+            var result = first;
+            for (final R partial : partials.subList(2, partials.size())) {
+                result = operator.apply(result, partial);
+            }
+            return result;
+        }
+
+        List<R> level = new ArrayList<>(partials.size() - 1);
+        level.add(first);
+        level.addAll(partials.subList(2, partials.size()));
+        while (level.size() > 2) {
+            final List<R> current = level;
+            final int pairs = current.size() / 2;
+            level = new ArrayList<>(runChunks(IntStream.range(0, pairs).boxed().toList(),
+                    i -> operator.apply(current.get(2 * i), current.get(2 * i + 1))));
+            if (current.size() % 2 == 1) {
+                level.add(current.get(current.size() - 1));
+            }
+        }
+        return level.size() == 1 ? level.get(0) : operator.apply(level.get(0), level.get(1));
+    }
+
+    /*
+     * Primitive specializations. Chunks are ranges of indices in the step view, so the element {@code i}
+     * of a chunk is {@code values[i * step]}: the loops are counted and never overflow. Only the per-chunk
+     * results are boxed.
+     */
+
+    /**
+     * Returns the number of every {@code step}-th element among {@code length} elements.
+     *
+     * @throws java.util.NoSuchElementException if there are no such elements.
+     * @throws IllegalArgumentException         if the step is less than 1.
+     */
+    private static int nonEmptySizeWithStep(final int length, final int step) {
+        final int size = sizeWithStep(length, step);
+        if (size == 0) {
+            throw new NoSuchElementException("No values are given");
+        }
+        return size;
+    }
+
+    @Override
+    public int maximum(int threads, int[] values, int step) throws InterruptedException {
+        return combine(runChunks(threads, nonEmptySizeWithStep(values.length, step), chunk -> {
+            int result = values[chunk.from() * step];
+            for (int i = chunk.from() + 1; i < chunk.to(); i++) {
+                result = Math.max(result, values[i * step]);
+            }
+            return result;
+        }), Math::max);
+    }
+
+    @Override
+    public int minimum(int threads, int[] values, int step) throws InterruptedException {
+        return combine(runChunks(threads, nonEmptySizeWithStep(values.length, step), chunk -> {
+            int result = values[chunk.from() * step];
+            for (int i = chunk.from() + 1; i < chunk.to(); i++) {
+                result = Math.min(result, values[i * step]);
+            }
+            return result;
+        }), Math::min);
+    }
+
+    @Override
+    public boolean all(int threads, int[] values, IntPredicate predicate, int step) throws InterruptedException {
+        return !any(threads, values, predicate.negate(), step);
+    }
+
+    /**
+     * Checks whether any value satisfies the predicate. As soon as one thread finds such a value,
+     * the others stop within {@value #ANY_CHECK_INTERVAL} elements.
+     */
+    @Override
+    public boolean any(int threads, int[] values, IntPredicate predicate, int step) throws InterruptedException {
+        final AtomicBoolean found = new AtomicBoolean();
+        runChunks(threads, sizeWithStep(values.length, step), chunk -> {
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                if (predicate.test(values[i * step])) {
+                    found.set(true);
+                    break;
+                }
+                if ((i - chunk.from()) % ANY_CHECK_INTERVAL == 0 && found.get()) {
+                    break;
+                }
+            }
+            return null;
+        });
+        return found.get();
+    }
+
+    @Override
+    public int count(int threads, int[] values, IntPredicate predicate, int step) throws InterruptedException {
+        return combine(runChunks(threads, sizeWithStep(values.length, step), chunk -> {
+            int result = 0;
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                if (predicate.test(values[i * step])) {
+                    result++;
+                }
+            }
+            return result;
+        }), Integer::sum);
+    }
+
+    @Override
+    public int reduce(int threads, int[] values, int identity, IntBinaryOperator operator, int step)
+            throws InterruptedException {
+        return combine(runChunks(threads, sizeWithStep(values.length, step), chunk -> {
+            int result = identity;
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                result = operator.applyAsInt(result, values[i * step]);
+            }
+            return result;
+        }), operator::applyAsInt);
+    }
+
+    @Override
+    public long maximum(int threads, long[] values, int step) throws InterruptedException {
+        return combine(runChunks(threads, nonEmptySizeWithStep(values.length, step), chunk -> {
+            long result = values[chunk.from() * step];
+            for (int i = chunk.from() + 1; i < chunk.to(); i++) {
+                result = Math.max(result, values[i * step]);
+            }
+            return result;
+        }), Math::max);
+    }
+
+    @Override
+    public long minimum(int threads, long[] values, int step) throws InterruptedException {
+        return combine(runChunks(threads, nonEmptySizeWithStep(values.length, step), chunk -> {
+            long result = values[chunk.from() * step];
+            for (int i = chunk.from() + 1; i < chunk.to(); i++) {
+                result = Math.min(result, values[i * step]);
+            }
+            return result;
+        }), Math::min);
+    }
+
+    @Override
+    public boolean all(int threads, long[] values, LongPredicate predicate, int step) throws InterruptedException {
+        return !any(threads, values, predicate.negate(), step);
+    }
+
+    @Override
+    public boolean any(int threads, long[] values, LongPredicate predicate, int step) throws InterruptedException {
+        final AtomicBoolean found = new AtomicBoolean();
+        runChunks(threads, sizeWithStep(values.length, step), chunk -> {
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                if (predicate.test(values[i * step])) {
+                    found.set(true);
+                    break;
+                }
+                if ((i - chunk.from()) % ANY_CHECK_INTERVAL == 0 && found.get()) {
+                    break;
+                }
+            }
+            return null;
+        });
+        return found.get();
+    }
+
+    @Override
+    public int count(int threads, long[] values, LongPredicate predicate, int step) throws InterruptedException {
+        return combine(runChunks(threads, sizeWithStep(values.length, step), chunk -> {
+            int result = 0;
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                if (predicate.test(values[i * step])) {
+                    result++;
+                }
+            }
+            return result;
+        }), Integer::sum);
+    }
+
+    @Override
+    public long reduce(int threads, long[] values, long identity, LongBinaryOperator operator, int step)
+            throws InterruptedException {
+        return combine(runChunks(threads, sizeWithStep(values.length, step), chunk -> {
+            long result = identity;
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                result = operator.applyAsLong(result, values[i * step]);
+            }
+            return result;
+        }), operator::applyAsLong);
+    }
+
+    @Override
+    public double maximum(int threads, double[] values, int step) throws InterruptedException {
+        return combine(runChunks(threads, nonEmptySizeWithStep(values.length, step), chunk -> {
+            double result = values[chunk.from() * step];
+            for (int i = chunk.from() + 1; i < chunk.to(); i++) {
+                result = Math.max(result, values[i * step]);
+            }
+            return result;
+        }), Math::max);
+    }
+
+    @Override
+    public double minimum(int threads, double[] values, int step) throws InterruptedException {
+        return combine(runChunks(threads, nonEmptySizeWithStep(values.length, step), chunk -> {
+            double result = values[chunk.from() * step];
+            for (int i = chunk.from() + 1; i < chunk.to(); i++) {
+                result = Math.min(result, values[i * step]);
+            }
+            return result;
+        }), Math::min);
+    }
+
+    @Override
+    public boolean all(int threads, double[] values, DoublePredicate predicate, int step)
+            throws InterruptedException {
+        return !any(threads, values, predicate.negate(), step);
+    }
+
+    @Override
+    public boolean any(int threads, double[] values, DoublePredicate predicate, int step)
+            throws InterruptedException {
+        final AtomicBoolean found = new AtomicBoolean();
+        runChunks(threads, sizeWithStep(values.length, step), chunk -> {
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                if (predicate.test(values[i * step])) {
+                    found.set(true);
+                    break;
+                }
+                if ((i - chunk.from()) % ANY_CHECK_INTERVAL == 0 && found.get()) {
+                    break;
+                }
+            }
+            return null;
+        });
+        return found.get();
+    }
+
+    @Override
+    public int count(int threads, double[] values, DoublePredicate predicate, int step)
+            throws InterruptedException {
+        return combine(runChunks(threads, sizeWithStep(values.length, step), chunk -> {
+            int result = 0;
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                if (predicate.test(values[i * step])) {
+                    result++;
+                }
+            }
+            return result;
+        }), Integer::sum);
+    }
+
+    @Override
+    public double reduce(int threads, double[] values, double identity, DoubleBinaryOperator operator, int step)
+            throws InterruptedException {
+        return combine(runChunks(threads, sizeWithStep(values.length, step), chunk -> {
+            double result = identity;
+            for (int i = chunk.from(); i < chunk.to(); i++) {
+                result = operator.applyAsDouble(result, values[i * step]);
+            }
+            return result;
+        }), operator::applyAsDouble);
     }
 }
@@ -2,47 +2,457 @@ package info.kgeorgiy.ja.lyzhenkov.iterative;
 
 import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.IntStream;
 
 public class ParallelMapperImpl implements ParallelMapper {
 
+    /**
+     * Priority class of a {@code map} call. Calls of a higher class are served first;
+     * calls of the same class share the workers round-robin.
+     */
+    public enum Priority {
+        /** Latency-sensitive calls. */
+        HIGH,
+        /** Default class. */
+        NORMAL,
+        /** Batch calls, served only when no other calls are pending. */
+        LOW
+    }
+
+    /**
+     * Placement of the items of a {@code map} call on the workers.
+     */
+    public enum Placement {
+        /** All workers take ranges of all calls from a shared queue. */
+        SHARED,
+        /**
+         * Worker {@code w} of {@code n} has its own queue and processes the items with indices
+         * {@code [size * w / n, size * (w + 1) / n)} of every call. Calls over the same data with the same size
+         * touch each item from the same worker, so the data stays in that worker's caches. There is no
+         * balancing between workers, so the placement suits uniform work over large arrays.
+         */
+        AFFINITY
+    }
+
     private static final int SIZE_QUEUE_TASK = 10_000;
-    private final QueueTasks<Task> queueTasks;
-    private final List<Thread> poolThreads;
+    private static final long CHUNK_NANOS = 50_000;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final long GROW_INTERVAL_NANOS = 1_000_000;
+    private final Placement placement;
+    private final List<QueueTasks<Task>> queues;
+    private final ParallelMapperMetrics metrics;
+    private final int minThreads;
+    private final int maxThreads;
+    private final long idleTimeoutNanos;
+    private final Set<Thread> poolThreads = new HashSet<>();
+    private final BitSet slots = new BitSet();
+    private long lastGrowth;
+    private boolean closed;
+    private ObjectName metricsName;
 
+    /**
+     * Creates a mapper with a fixed number of worker threads.
+     *
+     * @param threads number of worker threads.
+     */
     public ParallelMapperImpl(final int threads) {
-        this.queueTasks = new QueueTasks<>(SIZE_QUEUE_TASK);
-        this.poolThreads = IntStream.range(0, threads).mapToObj(it -> new Thread(() -> {
-            try {
-                while (!Thread.interrupted()) {
-                    queueTasks.getTask().run();
+        this(threads, Placement.SHARED);
+    }
+
+    /**
+     * Creates a mapper with a fixed number of worker threads and the given placement of items.
+     *
+     * @param threads   number of worker threads.
+     * @param placement placement of items on the workers.
+     */
+    public ParallelMapperImpl(final int threads, final Placement placement) {
+        this(threads, threads, 0, Objects.requireNonNull(placement, "Placement is null"));
+    }
+
+    /**
+     * Creates an elastic mapper. It starts with {@code minThreads} workers and starts one more, at most once per
+     * {@value #GROW_INTERVAL_NANOS}ns, while there are queued calls and no worker is waiting for a task.
+     * A worker that has found no tasks for {@code idleTimeout} retires, while more than {@code minThreads} remain.
+     *
+     * @param minThreads  minimal number of worker threads, may be zero.
+     * @param maxThreads  maximal number of worker threads.
+     * @param idleTimeout time after which an idle worker retires.
+     * @throws IllegalArgumentException if the bounds are inconsistent or the timeout is not positive.
+     */
+    public ParallelMapperImpl(final int minThreads, final int maxThreads, final Duration idleTimeout) {
+        this(checkThreads(minThreads, maxThreads), maxThreads, checkTimeout(idleTimeout), Placement.SHARED);
+    }
+
+    private static int checkThreads(final int minThreads, final int maxThreads) {
+        if (minThreads < 0 || maxThreads < Math.max(1, minThreads)) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected 0 <= minThreads <= maxThreads and maxThreads >= 1, but received: %d, %d",
+                    minThreads, maxThreads));
+        }
+        return minThreads;
+    }
+
+    private static long checkTimeout(final Duration idleTimeout) {
+        if (!idleTimeout.isPositive()) {
+            throw new IllegalArgumentException("The idle timeout must be positive, but received: " + idleTimeout);
+        }
+        return idleTimeout.toNanos();
+    }
+
+    private ParallelMapperImpl(
+            final int minThreads,
+            final int maxThreads,
+            final long idleTimeoutNanos,
+            final Placement placement
+    ) {
+        this.placement = placement;
+        this.queues = IntStream.range(0, placement == Placement.AFFINITY ? Math.max(1, maxThreads) : 1)
+                .mapToObj(it -> new QueueTasks<Task>(SIZE_QUEUE_TASK, Priority.values().length))
+                .toList();
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.metrics = new ParallelMapperMetrics(this::getQueueDepth, this::getThreads, Math.max(0, maxThreads));
+        synchronized (this) {
+            IntStream.range(0, minThreads).forEach(it -> startWorker());
+        }
+    }
+
+    private boolean isElastic() {
+        return idleTimeoutNanos > 0;
+    }
+
+    private int getQueueDepth() {
+        return queues.stream().mapToInt(QueueTasks::size).sum();
+    }
+
+    /**
+     * Returns the queue of the worker in the given slot. Elastic pools always have a single shared queue.
+     */
+    private QueueTasks<Task> queueFor(final int slot) {
+        return queues.get(placement == Placement.AFFINITY ? slot : 0);
+    }
+
+    private synchronized int getThreads() {
+        return poolThreads.size();
+    }
+
+    private void startWorker() {
+        final int slot = slots.nextClearBit(0);
+        slots.set(slot);
+        final Thread thread = new Thread(() -> work(slot));
+        poolThreads.add(thread);
+        thread.start();
+    }
+
+    private void work(final int slot) {
+        final QueueTasks<Task> queueTasks = queueFor(slot);
+        try {
+            while (!Thread.interrupted()) {
+                if (!isElastic()) {
+                    metrics.run(slot, queueTasks.getTask());
+                    continue;
                 }
-            } catch (final InterruptedException ignored) {
-            } finally {
-                Thread.currentThread().interrupt();
+                final Task task = queueTasks.getTask(idleTimeoutNanos);
+                if (task == null) {
+                    if (retire(slot)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (queueTasks.isSaturated()) {
+                    grow();
+                }
+                metrics.run(slot, task);
             }
-        })).peek(Thread::start).toList();
+        } catch (final InterruptedException ignored) {
+        } finally {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts one more worker if the limits allow it. The first worker is started without delay.
+     */
+    private synchronized void grow() {
+        final long now = System.nanoTime();
+        if (closed || poolThreads.size() >= maxThreads
+                || !poolThreads.isEmpty() && now - lastGrowth < GROW_INTERVAL_NANOS) {
+            return;
+        }
+        lastGrowth = now;
+        startWorker();
+    }
+
+    /**
+     * Removes the idle current worker from the pool, unless the pool would become smaller than
+     * {@code minThreads} or empty with calls still queued.
+     *
+     * @return whether the worker should stop.
+     */
+    private synchronized boolean retire(final int slot) {
+        if (!closed && (poolThreads.size() <= minThreads || poolThreads.size() == 1 && queues.get(0).size() > 0)) {
+            return false;
+        }
+        poolThreads.remove(Thread.currentThread());
+        slots.clear(slot);
+        return true;
     }
 
     @Override
     public <T, R> List<R> map(Function<? super T, ? extends R> f, List<? extends T> items) throws InterruptedException {
-        var answers = new AnswersList<R>(items.size());
-        var tasks = IntStream.range(0, items.size()).<Task>mapToObj(i -> () ->
-                answers.setAnswer(i, f.apply(items.get(i)))).toList();
-        for (var task : tasks) {
-            queueTasks.addTask(task);
+        return map(f, items, Priority.NORMAL);
+    }
+
+    /**
+     * Maps {@code f} over {@code items} in chunks with the given priority. The call is queued as a single
+     * source of tasks; each task maps the next range of items. Ranges start with a single item
+     * and then are sized by the measured per-item cost, so that a range takes about {@value #CHUNK_NANOS}ns,
+     * but are never so large that the items could not be spread over all workers.
+     * After each range, the worker returns to the queue, so concurrent calls share the workers.
+     * <p>
+     * If {@code f} throws, the ranges of the call that have not been started yet are dropped.
+     * The call completes once the ranges already running have finished, and the first exception is rethrown
+     * with the exceptions of those ranges suppressed.
+     *
+     * @throws InterruptedException  if calling thread was interrupted. The remaining ranges are dropped.
+     * @throws IllegalStateException if the mapper is closed before the call completes.
+     */
+    public <T, R> List<R> map(
+            final Function<? super T, ? extends R> f,
+            final List<? extends T> items,
+            final Priority priority
+    ) throws InterruptedException {
+        var answers = new AnswersList<R>(items.size(), null, null);
+        if (items.isEmpty()) {
+            return answers.getAnswers();
+        }
+        var chunks = submit(f, items, answers, priority);
+        try {
+            return answers.getAnswers();
+        } catch (final InterruptedException e) {
+            chunks.cancel(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Queues the items of a call: as a single source for the {@link Placement#SHARED shared} placement,
+     * or as a source per worker for the {@link Placement#AFFINITY affinity} placement.
+     *
+     * @return one of the queued sources; cancelling it cancels the whole call.
+     */
+    private <T, R> Chunks<?, R> submit(
+            final Function<? super T, ? extends R> f,
+            final List<? extends T> items,
+            final AnswersList<R> answers,
+            final Priority priority
+    ) throws InterruptedException {
+        var maxChunk = Math.max(1, items.size() / (Math.max(1, maxThreads) * CHUNKS_PER_THREAD));
+        if (placement == Placement.SHARED) {
+            var chunks = new Chunks<>(f, items, 0, items.size(), answers, maxChunk, metrics);
+            queues.get(0).addTask(chunks, priority.ordinal());
+            if (isElastic() && queues.get(0).isSaturated()) {
+                grow();
+            }
+            return chunks;
+        }
+
+        Chunks<?, R> first = null;
+        try {
+            for (int worker = 0; worker < queues.size(); worker++) {
+                var from = (int) ((long) items.size() * worker / queues.size());
+                var to = (int) ((long) items.size() * (worker + 1) / queues.size());
+                if (from < to) {
+                    var chunks = new Chunks<>(f, items, from, to, answers, maxChunk, metrics);
+                    queues.get(worker).addTask(chunks, priority.ordinal());
+                    first = Objects.requireNonNullElse(first, chunks);
+                }
+            }
+        } catch (final InterruptedException | IllegalStateException e) {
+            answers.cancel(e);
+            throw e;
+        }
+        return first;
+    }
+
+    /**
+     * Submits an asynchronous call and ties it to the future: cancelling the future drops the ranges
+     * that have not been started yet. If the calling thread is interrupted while the queue is full,
+     * the future fails with {@link InterruptedException} and the interrupt flag is restored.
+     */
+    private <T, R> void submitAsync(
+            final Function<? super T, ? extends R> f,
+            final List<? extends T> items,
+            final AnswersList<R> answers,
+            final Priority priority,
+            final CompletableFuture<?> future
+    ) {
+        try {
+            var chunks = submit(f, items, answers, priority);
+            future.whenComplete((result, e) -> {
+                if (e instanceof CancellationException) {
+                    chunks.cancel(e);
+                }
+            });
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        }
+    }
+
+    private static <V> void complete(final CompletableFuture<V> future, final V value, final Throwable e) {
+        if (e == null) {
+            future.complete(value);
+        } else {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Maps {@code f} over {@code items} without blocking, with the {@link Priority#NORMAL normal} priority.
+     *
+     * @see #mapAsync(Function, List, Priority)
+     */
+    public <T, R> CompletableFuture<List<R>> mapAsync(
+            final Function<? super T, ? extends R> f,
+            final List<? extends T> items
+    ) {
+        return mapAsync(f, items, Priority.NORMAL);
+    }
+
+    /**
+     * Maps {@code f} over {@code items} as {@link #map(Function, List, Priority)} does, but without waiting
+     * for the results. The returned future is completed by the worker that finishes the last range,
+     * so non-async dependent stages run on that worker and should be short.
+     * If {@code f} throws, the future completes exceptionally with that exception, as soon as the ranges
+     * already running have finished.
+     * Cancelling the future drops the ranges that have not been started yet.
+     *
+     * @throws IllegalStateException if the mapper is closed.
+     */
+    public <T, R> CompletableFuture<List<R>> mapAsync(
+            final Function<? super T, ? extends R> f,
+            final List<? extends T> items,
+            final Priority priority
+    ) {
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
         }
-        return answers.getAnswers();
+        final CompletableFuture<List<R>> future = new CompletableFuture<>();
+        submitAsync(f, items, new AnswersList<R>(items.size(), null, (result, e) -> complete(future, result, e)),
+                priority, future);
+        return future;
     }
 
+    /**
+     * Streams results of {@code f} over {@code items} in completion order,
+     * with the {@link Priority#NORMAL normal} priority.
+     *
+     * @see #mapInCompletionOrder(Function, List, ObjIntConsumer, Priority)
+     */
+    public <T, R> CompletableFuture<Void> mapInCompletionOrder(
+            final Function<? super T, ? extends R> f,
+            final List<? extends T> items,
+            final ObjIntConsumer<? super R> consumer
+    ) {
+        return mapInCompletionOrder(f, items, consumer, Priority.NORMAL);
+    }
+
+    /**
+     * Maps {@code f} over {@code items} and passes each result with its index to {@code consumer}
+     * as soon as it is computed, so results arrive in completion order rather than in the order of items
+     * and are not collected. The consumer is called concurrently from worker threads and must be thread-safe.
+     * Otherwise, behaves as {@link #mapAsync(Function, List, Priority)}; the future completes
+     * after the consumer has accepted all results.
+     *
+     * @throws IllegalStateException if the mapper is closed.
+     */
+    public <T, R> CompletableFuture<Void> mapInCompletionOrder(
+            final Function<? super T, ? extends R> f,
+            final List<? extends T> items,
+            final ObjIntConsumer<? super R> consumer,
+            final Priority priority
+    ) {
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        submitAsync(f, items, new AnswersList<R>(items.size(), consumer, (result, e) -> complete(future, null, e)),
+                priority, future);
+        return future;
+    }
+
+    /**
+     * Returns the statistics of this mapper. Task statistics are disabled initially.
+     */
+    public ParallelMapperMXBean getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Registers the {@link #getMetrics() statistics} of this mapper in the platform MBean server
+     * under the name {@code info.kgeorgiy.ja.lyzhenkov.iterative:type=ParallelMapper,name=<name>}
+     * and enables them. The bean is unregistered on {@link #close()}.
+     *
+     * @param name name of this mapper.
+     * @throws JMException if the bean cannot be registered, for example if the name is already used.
+     */
+    public synchronized void registerMetrics(final String name) throws JMException {
+        if (Objects.nonNull(metricsName)) {
+            throw new IllegalStateException("Metrics are already registered as " + metricsName);
+        }
+        final ObjectName objectName = new ObjectName(
+                "info.kgeorgiy.ja.lyzhenkov.iterative:type=ParallelMapper,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, objectName);
+        metrics.setEnabled(true);
+        metricsName = objectName;
+    }
+
+    private synchronized void unregisterMetrics() {
+        if (Objects.isNull(metricsName)) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(metricsName);
+        } catch (final JMException e) {
+            System.err.println("Couldn't unregister metrics " + metricsName + ": " + e.getMessage());
+        }
+        metricsName = null;
+    }
+
+    /**
+     * Stops all threads. Unfinished mappings throw {@link IllegalStateException}.
+     */
     @Override
     public void close() {
-        poolThreads.forEach(Thread::interrupt);
-        for (var thread : poolThreads) {
+        unregisterMetrics();
+        final List<Thread> threads;
+        synchronized (this) {
+            closed = true;
+            threads = List.copyOf(poolThreads);
+        }
+        queues.forEach(queue -> queue.close(() -> new IllegalStateException("ParallelMapperImpl is closed")));
+        threads.forEach(Thread::interrupt);
+        for (var thread : threads) {
             try {
                 thread.join();
             } catch (final InterruptedException e) {
@@ -51,27 +461,233 @@ public class ParallelMapperImpl implements ParallelMapper {
         }
     }
 
+    private static final class Chunks<T, R> implements QueueTasks.Source<Task> {
+        private final Function<? super T, ? extends R> f;
+        private final List<? extends T> items;
+        private final int end;
+        private final AnswersList<R> answers;
+        private final int maxChunk;
+        private final ParallelMapperMetrics metrics;
+        private int next;
+        private long queuedAt;
+        private volatile long nanosPerItem;
+
+        /**
+         * Creates a source of ranges of items {@code [from, to)}. Sources of the same call share the answers
+         * and stop producing ranges as soon as any of them fails or is cancelled.
+         */
+        private Chunks(
+                final Function<? super T, ? extends R> f,
+                final List<? extends T> items,
+                final int from,
+                final int to,
+                final AnswersList<R> answers,
+                final int maxChunk,
+                final ParallelMapperMetrics metrics
+        ) {
+            this.f = f;
+            this.items = items;
+            this.next = from;
+            this.end = to;
+            this.answers = answers;
+            this.maxChunk = maxChunk;
+            this.metrics = metrics;
+            this.queuedAt = metrics.isEnabled() ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Returns the next range. The source returns to the tail of the queue right after that,
+         * so the time between calls is the time the source waited in the queue.
+         */
+        @Override
+        public Task next() {
+            if (next == end || !answers.enter()) {
+                return null;
+            }
+            if (metrics.isEnabled()) {
+                var now = System.nanoTime();
+                if (queuedAt != 0) {
+                    metrics.recordQueueLatency(now - queuedAt);
+                }
+                queuedAt = now;
+            }
+            var cost = nanosPerItem;
+            var size = cost == 0 ? 1 : Math.clamp(CHUNK_NANOS / cost, 1, maxChunk);
+            var from = next;
+            var to = from + Math.min(size, end - from);
+            next = to;
+            return () -> run(from, to);
+        }
+
+        @Override
+        public void cancel(final Throwable cause) {
+            answers.cancel(cause);
+        }
+
+        private void run(final int from, final int to) {
+            var start = System.nanoTime();
+            try {
+                for (int i = from; i < to; i++) {
+                    answers.setAnswer(i, f.apply(items.get(i)));
+                }
+            } catch (final RuntimeException | Error e) {
+                answers.fail(e);
+                answers.leave();
+                return;
+            }
+            nanosPerItem = Math.max(1, (System.nanoTime() - start) / (to - from));
+            answers.finished(to - from);
+            answers.leave();
+        }
+    }
+
+    /**
+     * Results of a single {@code map} call, awaited by the thread that created it. Workers write results
+     * into their own slots of the array and decrement the atomic counter once per range; the worker
+     * that finishes the last range unparks the caller, so no monitor is taken on the normal path.
+     * <p>
+     * A failed call stops handing out ranges, but is reported only when no range of it is running any more,
+     * so the reported exception has all the exceptions of the ranges suppressed and is not changed afterwards.
+     */
     private static final class AnswersList<E> {
-        private final List<E> answers;
-        private int count = 0;
+        private static final Object SUCCESS = new Object();
 
-        private AnswersList(final int size) {
-            this.answers = new ArrayList<>(Collections.nCopies(size, null));
+        private final Object[] answers;
+        private final ObjIntConsumer<? super E> consumer;
+        private final BiConsumer<List<E>, Throwable> completion;
+        private final AtomicInteger remaining;
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicReference<Throwable> cancellation = new AtomicReference<>();
+        /** {@link #SUCCESS} or the failure, once reported. */
+        private final AtomicReference<Object> outcome = new AtomicReference<>();
+        private final Thread caller = Thread.currentThread();
+
+        /**
+         * Creates results of a call.
+         *
+         * @param size       number of items.
+         * @param consumer   receives each result instead of storing it, or {@code null}.
+         * @param completion called with the results or the failure instead of unparking the caller, or {@code null}.
+         */
+        private AnswersList(
+                final int size,
+                final ObjIntConsumer<? super E> consumer,
+                final BiConsumer<List<E>, Throwable> completion
+        ) {
+            this.answers = new Object[Objects.isNull(consumer) ? size : 0];
+            this.consumer = consumer;
+            this.completion = completion;
+            this.remaining = new AtomicInteger(size);
+            if (size == 0) {
+                outcome.set(SUCCESS);
+            }
         }
 
         public void setAnswer(final int index, final E element) {
-            answers.set(index, element);
-            synchronized (this) {
-                count++;
-                notify();
+            if (Objects.isNull(consumer)) {
+                answers[index] = element;
+            } else {
+                consumer.accept(element, index);
+            }
+        }
+
+        /**
+         * Registers a range that is about to run.
+         *
+         * @return {@code false} if the call has failed, so the range must not run.
+         */
+        public boolean enter() {
+            running.incrementAndGet();
+            if (failure.get() != null) {
+                leave();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Unregisters a range that has finished or failed, reporting the failure if it was the last running one.
+         */
+        public void leave() {
+            if (running.decrementAndGet() == 0) {
+                reportFailure();
             }
         }
 
-        public synchronized List<E> getAnswers() throws InterruptedException {
-            while (count != answers.size()) {
-                wait();
+        public void finished(final int count) {
+            if (remaining.addAndGet(-count) == 0) {
+                report(SUCCESS);
+            }
+        }
+
+        /**
+         * Records an exception thrown by a running range: the first one fails the call,
+         * the later ones are suppressed by it. A cancellation cause is left intact,
+         * as it may already have been thrown to the caller.
+         */
+        public void fail(final Throwable e) {
+            if (!failure.compareAndSet(null, e)) {
+                final Throwable first = failure.get();
+                if (first != cancellation.get()) {
+                    first.addSuppressed(e);
+                }
+            }
+        }
+
+        /**
+         * Fails the call with the given cause, unless it has already failed.
+         */
+        public void cancel(final Throwable cause) {
+            cancellation.compareAndSet(null, cause);
+            if (failure.compareAndSet(null, cause)) {
+                reportFailure();
+            }
+        }
+
+        private void reportFailure() {
+            final Throwable cause = failure.get();
+            if (cause != null && running.get() == 0) {
+                report(cause);
+            }
+        }
+
+        private void report(final Object result) {
+            if (!outcome.compareAndSet(null, result)) {
+                return;
+            }
+            if (Objects.isNull(completion)) {
+                LockSupport.unpark(caller);
+            } else if (result instanceof Throwable cause) {
+                completion.accept(null, cause);
+            } else {
+                completion.accept(list(), null);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<E> list() {
+            return (List<E>) Arrays.asList(answers);
+        }
+
+        public List<E> getAnswers() throws InterruptedException {
+            while (outcome.get() == null) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            final Object result = outcome.get();
+            if (result instanceof RuntimeException e) {
+                throw e;
+            }
+            if (result instanceof Error e) {
+                throw e;
+            }
+            if (result instanceof Throwable cause) {
+                throw new IllegalStateException(cause);
             }
-            return answers;
+            return list();
         }
     }
 }
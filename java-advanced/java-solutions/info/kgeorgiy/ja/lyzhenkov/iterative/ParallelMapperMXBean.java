@@ -0,0 +1,72 @@
+package info.kgeorgiy.ja.lyzhenkov.iterative;
+
+/**
+ * Management interface of a {@link ParallelMapperImpl} worker pool.
+ * <p>
+ * Queue depth and the number of workers are always available. Task statistics are collected only while
+ * {@link #isEnabled() enabled}; they count from the moment of the last {@link #reset()}.
+ * Latency histograms have power-of-two buckets: bucket {@code i} counts latencies
+ * less than {@code getLatencyBucketBoundsNanos()[i]} and not less than the previous bound.
+ */
+public interface ParallelMapperMXBean {
+    /**
+     * Returns whether task statistics are collected.
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables collection of task statistics. When disabled, workers do not read the clock.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Clears task statistics.
+     */
+    void reset();
+
+    /**
+     * Returns the number of queued {@code map} calls that still have items to start.
+     */
+    int getQueueDepth();
+
+    /**
+     * Returns the current number of worker threads.
+     */
+    int getWorkers();
+
+    /**
+     * Returns the number of tasks completed.
+     */
+    long getCompletedTasks();
+
+    /**
+     * Returns the average number of tasks completed per second.
+     */
+    double getTasksPerSecond();
+
+    /**
+     * Returns the time each worker slot spent running tasks, in nanoseconds.
+     * In an elastic pool, a retired worker's slot is reused by the next started worker.
+     */
+    long[] getWorkerBusyNanos();
+
+    /**
+     * Returns the fraction of time the workers spent running tasks, relative to the current number of workers.
+     */
+    double getUtilization();
+
+    /**
+     * Returns the upper bounds of the latency histogram buckets, in nanoseconds.
+     */
+    long[] getLatencyBucketBoundsNanos();
+
+    /**
+     * Returns the histogram of times from queueing a call, or returning it to the queue, to starting its next task.
+     */
+    long[] getQueueLatencyHistogram();
+
+    /**
+     * Returns the histogram of task run times.
+     */
+    long[] getRunLatencyHistogram();
+}
@@ -0,0 +1,146 @@
+package info.kgeorgiy.ja.lyzhenkov.iterative;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Statistics of a {@link ParallelMapperImpl} worker pool.
+ * <p>
+ * Each worker adds to its own busy-time slot; completed tasks and histogram buckets are {@link LongAdder}s,
+ * so recording does not contend between workers. Nothing is recorded while disabled.
+ */
+final class ParallelMapperMetrics implements ParallelMapperMXBean {
+
+    private static final int BUCKETS = 40;
+
+    private final IntSupplier queueDepth;
+    private final IntSupplier workers;
+    private final int slots;
+    private volatile boolean enabled;
+    private volatile long resetNanos = System.nanoTime();
+    private final AtomicLongArray busyNanos;
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder[] queueLatency = newHistogram();
+    private final LongAdder[] runLatency = newHistogram();
+
+    /**
+     * Creates statistics of a pool.
+     *
+     * @param queueDepth current number of queued calls.
+     * @param workers    current number of workers.
+     * @param slots      maximal number of workers; each live worker has a distinct slot below it.
+     */
+    ParallelMapperMetrics(final IntSupplier queueDepth, final IntSupplier workers, final int slots) {
+        this.queueDepth = queueDepth;
+        this.workers = workers;
+        this.slots = slots;
+        this.busyNanos = new AtomicLongArray(slots);
+    }
+
+    private static LongAdder[] newHistogram() {
+        return IntStream.range(0, BUCKETS).mapToObj(i -> new LongAdder()).toArray(LongAdder[]::new);
+    }
+
+    private static void record(final LongAdder[] histogram, final long nanos) {
+        histogram[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)))].increment();
+    }
+
+    private static long[] snapshot(final LongAdder[] histogram) {
+        return Arrays.stream(histogram).mapToLong(LongAdder::sum).toArray();
+    }
+
+    /**
+     * Runs a task on behalf of a worker, recording its run time if enabled.
+     */
+    void run(final int worker, final Runnable task) {
+        if (!enabled) {
+            task.run();
+            return;
+        }
+        final long start = System.nanoTime();
+        task.run();
+        final long time = System.nanoTime() - start;
+        busyNanos.getAndAdd(worker, time);
+        completedTasks.increment();
+        record(runLatency, time);
+    }
+
+    /**
+     * Records the time a call waited in the queue before its next task was started.
+     */
+    void recordQueueLatency(final long nanos) {
+        record(queueLatency, nanos);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < slots; i++) {
+            busyNanos.set(i, 0);
+        }
+        completedTasks.reset();
+        Arrays.stream(queueLatency).forEach(LongAdder::reset);
+        Arrays.stream(runLatency).forEach(LongAdder::reset);
+        resetNanos = System.nanoTime();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.getAsInt();
+    }
+
+    @Override
+    public int getWorkers() {
+        return workers.getAsInt();
+    }
+
+    @Override
+    public long getCompletedTasks() {
+        return completedTasks.sum();
+    }
+
+    @Override
+    public double getTasksPerSecond() {
+        return completedTasks.sum() * 1e9 / Math.max(1, System.nanoTime() - resetNanos);
+    }
+
+    @Override
+    public long[] getWorkerBusyNanos() {
+        return IntStream.range(0, slots).mapToLong(busyNanos::get).toArray();
+    }
+
+    @Override
+    public double getUtilization() {
+        final long elapsed = Math.max(1, System.nanoTime() - resetNanos);
+        final int current = workers.getAsInt();
+        return current == 0 ? 0 : (double) LongStream.of(getWorkerBusyNanos()).sum() / elapsed / current;
+    }
+
+    @Override
+    public long[] getLatencyBucketBoundsNanos() {
+        return IntStream.range(0, BUCKETS).mapToLong(i -> i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << i).toArray();
+    }
+
+    @Override
+    public long[] getQueueLatencyHistogram() {
+        return snapshot(queueLatency);
+    }
+
+    @Override
+    public long[] getRunLatencyHistogram() {
+        return snapshot(runLatency);
+    }
+}
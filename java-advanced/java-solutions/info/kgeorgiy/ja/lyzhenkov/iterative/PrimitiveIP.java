@@ -0,0 +1,138 @@
+package info.kgeorgiy.ja.lyzhenkov.iterative;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoublePredicate;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+
+/**
+ * Scalar iterative parallelism over arrays of primitive values.
+ * <p>
+ * Methods mirror {@link info.kgeorgiy.java.advanced.iterative.NewScalarIP} and
+ * {@link info.kgeorgiy.java.advanced.iterative.AdvancedIP#reduce reduce}, but take arrays and primitive
+ * functional interfaces, so no value is boxed. Only each {@code step}-th element of the array is used
+ * (counting from 0). The {@code long} and {@code double} overloads behave as the {@code int} ones.
+ */
+public interface PrimitiveIP {
+    /**
+     * Returns maximum value.
+     *
+     * @param threads number of concurrent threads.
+     * @param values  values to get maximum of.
+     * @param step    step size.
+     * @return maximum of given values.
+     * @throws InterruptedException             if executing thread was interrupted.
+     * @throws java.util.NoSuchElementException if no values are given.
+     */
+    int maximum(int threads, int[] values, int step) throws InterruptedException;
+
+    /**
+     * Returns minimum value.
+     *
+     * @param threads number of concurrent threads.
+     * @param values  values to get minimum of.
+     * @param step    step size.
+     * @return minimum of given values.
+     * @throws InterruptedException             if executing thread was interrupted.
+     * @throws java.util.NoSuchElementException if no values are given.
+     */
+    int minimum(int threads, int[] values, int step) throws InterruptedException;
+
+    /**
+     * Returns whether all values satisfy predicate.
+     *
+     * @param threads   number of concurrent threads.
+     * @param values    values to test.
+     * @param predicate test predicate.
+     * @param step      step size.
+     * @return whether all values satisfy predicate or {@code true}, if no values are given.
+     * @throws InterruptedException if executing thread was interrupted.
+     */
+    boolean all(int threads, int[] values, IntPredicate predicate, int step) throws InterruptedException;
+
+    /**
+     * Returns whether any of values satisfies predicate.
+     *
+     * @param threads   number of concurrent threads.
+     * @param values    values to test.
+     * @param predicate test predicate.
+     * @param step      step size.
+     * @return whether any value satisfies predicate or {@code false}, if no values are given.
+     * @throws InterruptedException if executing thread was interrupted.
+     */
+    boolean any(int threads, int[] values, IntPredicate predicate, int step) throws InterruptedException;
+
+    /**
+     * Returns number of values satisfying predicate.
+     *
+     * @param threads   number of concurrent threads.
+     * @param values    values to test.
+     * @param predicate test predicate.
+     * @param step      step size.
+     * @return number of values satisfying predicate.
+     * @throws InterruptedException if executing thread was interrupted.
+     */
+    int count(int threads, int[] values, IntPredicate predicate, int step) throws InterruptedException;
+
+    /**
+     * Reduces values using monoid.
+     *
+     * @param threads  number of concurrent threads.
+     * @param values   values to reduce.
+     * @param identity monoid identity element.
+     * @param operator monoid operation.
+     * @param step     step size.
+     * @return values reduced by provided monoid or {@code identity} if no values specified.
+     * @throws InterruptedException if executing thread was interrupted.
+     */
+    int reduce(int threads, int[] values, int identity, IntBinaryOperator operator, int step)
+            throws InterruptedException;
+
+    /** @see #maximum(int, int[], int) */
+    long maximum(int threads, long[] values, int step) throws InterruptedException;
+
+    /** @see #minimum(int, int[], int) */
+    long minimum(int threads, long[] values, int step) throws InterruptedException;
+
+    /** @see #all(int, int[], IntPredicate, int) */
+    boolean all(int threads, long[] values, LongPredicate predicate, int step) throws InterruptedException;
+
+    /** @see #any(int, int[], IntPredicate, int) */
+    boolean any(int threads, long[] values, LongPredicate predicate, int step) throws InterruptedException;
+
+    /** @see #count(int, int[], IntPredicate, int) */
+    int count(int threads, long[] values, LongPredicate predicate, int step) throws InterruptedException;
+
+    /** @see #reduce(int, int[], int, IntBinaryOperator, int) */
+    long reduce(int threads, long[] values, long identity, LongBinaryOperator operator, int step)
+            throws InterruptedException;
+
+    /**
+     * Returns maximum value as {@link Math#max(double, double)}: {@code NaN} if any value is {@code NaN}.
+     *
+     * @see #maximum(int, int[], int)
+     */
+    double maximum(int threads, double[] values, int step) throws InterruptedException;
+
+    /**
+     * Returns minimum value as {@link Math#min(double, double)}: {@code NaN} if any value is {@code NaN}.
+     *
+     * @see #minimum(int, int[], int)
+     */
+    double minimum(int threads, double[] values, int step) throws InterruptedException;
+
+    /** @see #all(int, int[], IntPredicate, int) */
+    boolean all(int threads, double[] values, DoublePredicate predicate, int step) throws InterruptedException;
+
+    /** @see #any(int, int[], IntPredicate, int) */
+    boolean any(int threads, double[] values, DoublePredicate predicate, int step) throws InterruptedException;
+
+    /** @see #count(int, int[], IntPredicate, int) */
+    int count(int threads, double[] values, DoublePredicate predicate, int step) throws InterruptedException;
+
+    /** @see #reduce(int, int[], int, IntBinaryOperator, int) */
+    double reduce(int threads, double[] values, double identity, DoubleBinaryOperator operator, int step)
+            throws InterruptedException;
+}
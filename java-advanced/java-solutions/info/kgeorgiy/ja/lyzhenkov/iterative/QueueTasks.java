@@ -1,34 +1,159 @@
 package info.kgeorgiy.ja.lyzhenkov.iterative;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
+/**
+ * Bounded queue of task sources with priority classes and round-robin fairness.
+ * <p>
+ * Each source (for example, one {@code map} call) produces tasks one by one. Sources of a higher priority class
+ * are always served first; within a class, sources are served round-robin, one task at a time, so a source
+ * producing many tasks does not delay sources queued after it. A source leaves the queue when it has no more
+ * tasks. Producers block while the queue holds the maximum number of sources.
+ * After the queue is closed, no sources can be added and the queued ones are cancelled.
+ *
+ * @param <T> the type of tasks.
+ */
 public class QueueTasks<T> {
-    private final Queue<T> queue;
+
+    /**
+     * Source of tasks.
+     *
+     * @param <T> the type of tasks.
+     */
+    public interface Source<T> {
+        /**
+         * Returns the next task. Called under the queue lock, so it should be cheap.
+         *
+         * @return the next task or {@code null} if the source has no more tasks.
+         */
+        T next();
+
+        /**
+         * Called when the queue is {@link #close(Supplier) closed} while the source is still queued.
+         *
+         * @param cause the reason of cancellation.
+         */
+        void cancel(Throwable cause);
+    }
+
+    private final List<Queue<Source<T>>> queues;
     private final int MAX_SIZE_QUEUE;
     private int size = 0;
+    private int idle = 0;
+    private boolean closed = false;
 
-    public QueueTasks(final int size) {
-        this.queue = new ArrayDeque<>();
+    public QueueTasks(final int size, final int priorities) {
+        this.queues = IntStream.range(0, priorities).<Queue<Source<T>>>mapToObj(it -> new ArrayDeque<>()).toList();
         this.MAX_SIZE_QUEUE = size;
     }
 
-    public synchronized void addTask(final T task) throws InterruptedException {
-        while (size == MAX_SIZE_QUEUE) {
+    public synchronized void addTask(final Source<T> source, final int priority) throws InterruptedException {
+        while (size == MAX_SIZE_QUEUE && !closed) {
             wait();
         }
-        queue.add(task);
+        if (closed) {
+            throw new IllegalStateException("Queue is closed");
+        }
+        queues.get(priority).add(source);
         size++;
         notifyAll();
     }
 
+    /**
+     * Returns the number of queued sources.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether there are queued sources and no consumer is waiting for a task.
+     */
+    public synchronized boolean isSaturated() {
+        return size > 0 && idle == 0;
+    }
+
+    private T poll() {
+        for (final Queue<Source<T>> queue : queues) {
+            Source<T> source;
+            while ((source = queue.poll()) != null) {
+                final T task = source.next();
+                if (task != null) {
+                    queue.add(source);
+                    return task;
+                }
+                size--;
+                notifyAll();
+            }
+        }
+        return null;
+    }
+
     public synchronized T getTask() throws InterruptedException {
-        while (size == 0) {
-            wait();
+        while (true) {
+            final T task = poll();
+            if (task != null) {
+                return task;
+            }
+            idle++;
+            try {
+                wait();
+            } finally {
+                idle--;
+            }
         }
-        final T task = queue.poll();
-        size--;
-        notifyAll();
-        return task;
+    }
+
+    /**
+     * Returns the next task, waiting at most the given time for it to appear.
+     *
+     * @param timeoutNanos the maximum time to wait.
+     * @return the next task or {@code null} if the time elapsed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public synchronized T getTask(final long timeoutNanos) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        while (true) {
+            final T task = poll();
+            if (task != null) {
+                return task;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            idle++;
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } finally {
+                idle--;
+            }
+        }
+    }
+
+    /**
+     * Closes the queue: removes all queued sources, cancels each of them with a new cause
+     * and wakes up blocked producers, which fail with {@link IllegalStateException}.
+     *
+     * @param cause supplier of the reasons of cancellation of the queued sources.
+     */
+    public void close(final Supplier<? extends Throwable> cause) {
+        final List<Source<T>> cancelled = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            queues.forEach(queue -> {
+                cancelled.addAll(queue);
+                queue.clear();
+            });
+            size = 0;
+            notifyAll();
+        }
+        cancelled.forEach(source -> source.cancel(cause.get()));
     }
 }
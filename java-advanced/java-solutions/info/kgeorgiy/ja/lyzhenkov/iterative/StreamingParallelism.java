@@ -0,0 +1,197 @@
+package info.kgeorgiy.ja.lyzhenkov.iterative;
+
+import info.kgeorgiy.java.advanced.iterative.AdvancedIP;
+import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Iterative parallelism over sources that are not materialized as a list.
+ * <p>
+ * Values are read from a {@link Spliterator} or an {@link Iterator} on the calling thread in batches of at most
+ * {@code batchSize} values. Each batch is processed in parallel by the underlying {@link AdvancedIP},
+ * and its result is combined into the running result before the next batch is read,
+ * so at most one batch is held in memory at a time.
+ */
+public class StreamingParallelism {
+
+    private static final int DEFAULT_BATCH_SIZE = 1 << 16;
+    private final AdvancedIP parallelism;
+    private final int batchSize;
+
+    public StreamingParallelism(final AdvancedIP parallelism, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1, but received: " + batchSize);
+        }
+        this.parallelism = Objects.requireNonNull(parallelism, "Parallelism is null");
+        this.batchSize = batchSize;
+    }
+
+    public StreamingParallelism(final ParallelMapper mapper) {
+        this(new IterativeParallelism(mapper), DEFAULT_BATCH_SIZE);
+    }
+
+    public StreamingParallelism() {
+        this(new IterativeParallelism(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Processes a batch of values and returns its result.
+     */
+    @FunctionalInterface
+    private interface BatchTask<T, R> {
+        R apply(List<T> batch) throws InterruptedException;
+    }
+
+    /**
+     * Reads the source in batches, processes each non-empty batch and combines the results in order.
+     *
+     * @param source   source of values.
+     * @param initial  result for an empty source.
+     * @param task     computation on a batch.
+     * @param combiner combines the running result with the result of the next batch.
+     * @return combined result of all batches.
+     * @throws InterruptedException if executing thread was interrupted.
+     */
+    private <T, R> R calcBatches(
+            final Spliterator<? extends T> source,
+            final R initial,
+            final BatchTask<T, ? extends R> task,
+            final BinaryOperator<R> combiner
+    ) throws InterruptedException {
+        final List<T> batch = new ArrayList<>(batchSize);
+        R result = initial;
+        while (true) {
+            batch.clear();
+            while (batch.size() < batchSize && source.tryAdvance(batch::add)) {
+                // read the next value
+            }
+            if (batch.isEmpty()) {
+                return result;
+            }
+            result = combiner.apply(result, task.apply(batch));
+        }
+    }
+
+    private static <T> Spliterator<T> spliterator(final Iterator<T> iterator) {
+        return Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns number of values satisfying predicate.
+     *
+     * @param threads   number of concurrent threads per batch.
+     * @param source    values to test.
+     * @param predicate test predicate.
+     * @param <T>       value type.
+     * @return number of values satisfying predicate.
+     * @throws InterruptedException if executing thread was interrupted.
+     */
+    public <T> long count(int threads, Spliterator<? extends T> source, Predicate<? super T> predicate)
+            throws InterruptedException {
+        return calcBatches(source, 0L, batch -> (long) parallelism.count(threads, batch, predicate), Long::sum);
+    }
+
+    /**
+     * Returns maximum value.
+     *
+     * @param threads    number of concurrent threads per batch.
+     * @param source     values to get maximum of.
+     * @param comparator value comparator.
+     * @param <T>        value type.
+     * @return maximum of given values.
+     * @throws InterruptedException   if executing thread was interrupted.
+     * @throws NoSuchElementException if no values are given.
+     */
+    public <T> T maximum(int threads, Spliterator<? extends T> source, Comparator<? super T> comparator)
+            throws InterruptedException {
+        final BinaryOperator<T> maxBy = BinaryOperator.maxBy(comparator);
+        final Found<T> result = this.<T, Found<T>>calcBatches(source, null,
+                batch -> new Found<>(parallelism.maximum(threads, batch, comparator)),
+                (current, next) -> current == null ? next : new Found<>(maxBy.apply(current.value(), next.value())));
+        if (result == null) {
+            throw new NoSuchElementException("No values are given");
+        }
+        return result.value();
+    }
+
+    /**
+     * A value found in a non-empty batch, which may be {@code null} itself.
+     */
+    private record Found<T>(T value) {
+    }
+
+    /**
+     * Returns minimum value.
+     *
+     * @see #maximum(int, Spliterator, Comparator)
+     */
+    public <T> T minimum(int threads, Spliterator<? extends T> source, Comparator<? super T> comparator)
+            throws InterruptedException {
+        return maximum(threads, source, comparator.reversed());
+    }
+
+    /**
+     * Maps and reduces values using monoid.
+     *
+     * @param threads  number of concurrent threads per batch.
+     * @param source   values to reduce.
+     * @param lift     mapping function.
+     * @param identity monoid identity element.
+     * @param operator monoid operation.
+     * @param <T>      value type.
+     * @param <R>      result type.
+     * @return values reduced by provided monoid or {@code identity} if no values specified.
+     * @throws InterruptedException if executing thread was interrupted.
+     */
+    public <T, R> R mapReduce(
+            int threads,
+            Spliterator<T> source,
+            Function<T, R> lift,
+            R identity,
+            BinaryOperator<R> operator
+    ) throws InterruptedException {
+        return calcBatches(source, identity,
+                batch -> parallelism.mapReduce(threads, batch, lift, identity, operator, 1),
+                operator);
+    }
+
+    /** @see #count(int, Spliterator, Predicate) */
+    public <T> long count(int threads, Iterator<? extends T> source, Predicate<? super T> predicate)
+            throws InterruptedException {
+        return count(threads, spliterator(source), predicate);
+    }
+
+    /** @see #maximum(int, Spliterator, Comparator) */
+    public <T> T maximum(int threads, Iterator<? extends T> source, Comparator<? super T> comparator)
+            throws InterruptedException {
+        return maximum(threads, spliterator(source), comparator);
+    }
+
+    /** @see #minimum(int, Spliterator, Comparator) */
+    public <T> T minimum(int threads, Iterator<? extends T> source, Comparator<? super T> comparator)
+            throws InterruptedException {
+        return minimum(threads, spliterator(source), comparator);
+    }
+
+    /** @see #mapReduce(int, Spliterator, Function, Object, BinaryOperator) */
+    public <T, R> R mapReduce(
+            int threads,
+            Iterator<T> source,
+            Function<T, R> lift,
+            R identity,
+            BinaryOperator<R> operator
+    ) throws InterruptedException {
+        return mapReduce(threads, spliterator(source), lift, identity, operator);
+    }
+}
@@ -0,0 +1,112 @@
+package info.kgeorgiy.ja.lyzhenkov.iterative;
+
+import info.kgeorgiy.java.advanced.mapper.ParallelMapper;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link ParallelMapper} backed by a work-stealing scheduler.
+ * <p>
+ * Each worker owns a deque of tasks and steals from the other workers when its own deque is empty,
+ * so there is no single queue monitor that all workers contend on. A call to {@link #map(Function, List)}
+ * is a single task that recursively splits its index range; halves are pushed to the local deque of the worker
+ * that split them and are stolen by idle workers.
+ */
+public class WorkStealingParallelMapper implements ParallelMapper {
+
+    private static final int SPLITS_PER_THREAD = 8;
+    private final ForkJoinPool pool;
+
+    public WorkStealingParallelMapper(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1, but received: " + threads);
+        }
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    @Override
+    public <T, R> List<R> map(Function<? super T, ? extends R> f, List<? extends T> items) throws InterruptedException {
+        final Object[] answers = new Object[items.size()];
+        final int leafSize = Math.max(1, items.size() / (pool.getParallelism() * SPLITS_PER_THREAD));
+        final ForkJoinTask<Void> task = pool.submit(new MapAction<>(f, items, answers, 0, items.size(), leafSize));
+        try {
+            task.get();
+        } catch (final InterruptedException e) {
+            task.cancel(true);
+            throw e;
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        @SuppressWarnings("unchecked") final List<R> result = (List<R>) Arrays.asList(answers);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+        try {
+            if (!pool.awaitTermination(10L, TimeUnit.SECONDS)) {
+                System.err.println("WorkStealingParallelMapper couldn't close correctly");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MapAction<T, R> extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient Function<? super T, ? extends R> f;
+        private final transient List<? extends T> items;
+        private final transient Object[] answers;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        private MapAction(
+                final Function<? super T, ? extends R> f,
+                final List<? extends T> items,
+                final Object[] answers,
+                final int from,
+                final int to,
+                final int leafSize
+        ) {
+            this.f = f;
+            this.items = items;
+            this.answers = answers;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                for (int i = from; i < to; i++) {
+                    answers[i] = f.apply(items.get(i));
+                }
+                return;
+            }
+            final int middle = (from + to) >>> 1;
+            invokeAll(
+                    new MapAction<>(f, items, answers, from, middle, leafSize),
+                    new MapAction<>(f, items, answers, middle, to, leafSize)
+            );
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package info.kgeorgiy.ja.lyzhenkov.student;
+
+import info.kgeorgiy.java.advanced.student.Group;
+import info.kgeorgiy.java.advanced.student.GroupName;
+import info.kgeorgiy.java.advanced.student.GroupQuery;
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * {@link GroupQuery} decorator that memoizes results of queries over the same roster snapshot.
+ * <p>
+ * A snapshot is an immutable copy of a roster created by {@link #snapshot(Collection)}; every snapshot has
+ * its own version, so an updated roster is a new snapshot and never sees results computed for an older one.
+ * Results are kept in a bounded LRU cache keyed by (snapshot version, query, argument). Snapshots are referenced
+ * weakly: once a snapshot is no longer reachable, its results are dropped as well.
+ * Queries over other collections and methods taking a {@link List} are delegated without caching.
+ */
+public class CachingGroupQuery implements GroupQuery {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private final GroupQuery delegate;
+    private final Map<Key, Object> cache;
+    private final Map<Long, SnapshotReference> snapshots = new HashMap<>();
+    private final ReferenceQueue<Snapshot> collected = new ReferenceQueue<>();
+
+    public CachingGroupQuery(final GroupQuery delegate, final int capacity) {
+        Objects.requireNonNull(delegate, "Delegate is null");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, but received: " + capacity);
+        }
+        this.delegate = delegate;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Object> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public CachingGroupQuery() {
+        this(new StudentDB(), DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Immutable roster with a unique version.
+     */
+    public static final class Snapshot extends AbstractList<Student> implements RandomAccess {
+        private static final AtomicLong VERSIONS = new AtomicLong();
+
+        private final Student[] students;
+        private final long version;
+
+        private Snapshot(final Collection<Student> students) {
+            this.students = students.toArray(Student[]::new);
+            this.version = VERSIONS.incrementAndGet();
+        }
+
+        /**
+         * Returns the version of this snapshot, distinct from the versions of all other snapshots.
+         */
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public Student get(final int index) {
+            return students[index];
+        }
+
+        @Override
+        public int size() {
+            return students.length;
+        }
+    }
+
+    /**
+     * Returns an immutable snapshot of the given roster, whose query results can be cached.
+     * A snapshot is returned as is.
+     *
+     * @param students roster to copy.
+     * @return snapshot of the roster.
+     */
+    public static Snapshot snapshot(final Collection<Student> students) {
+        return students instanceof Snapshot snapshot ? snapshot : new Snapshot(students);
+    }
+
+    /** Drops all cached results. */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Drops results of the snapshots that are no longer reachable.
+     */
+    private void expunge() {
+        Object reference;
+        while ((reference = collected.poll()) != null) {
+            final long version = ((SnapshotReference) reference).version;
+            snapshots.remove(version);
+            cache.keySet().removeIf(key -> key.version == version);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R cached(
+            final Collection<Student> students,
+            final String query,
+            final Object argument,
+            final Supplier<R> supplier
+    ) {
+        if (!(students instanceof Snapshot snapshot)) {
+            return supplier.get();
+        }
+        var key = new Key(snapshot.version(), query, argument);
+        synchronized (this) {
+            expunge();
+            var value = cache.get(key);
+            if (value != null) {
+                return (R) value;
+            }
+        }
+        var value = supplier.get();
+        synchronized (this) {
+            snapshots.computeIfAbsent(key.version, version -> new SnapshotReference(snapshot, collected));
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public List<String> getFirstNames(List<Student> students) {
+        return delegate.getFirstNames(students);
+    }
+
+    @Override
+    public List<String> getLastNames(List<Student> students) {
+        return delegate.getLastNames(students);
+    }
+
+    @Override
+    public List<GroupName> getGroups(List<Student> students) {
+        return delegate.getGroups(students);
+    }
+
+    @Override
+    public List<String> getFullNames(List<Student> students) {
+        return delegate.getFullNames(students);
+    }
+
+    @Override
+    public Set<String> getDistinctFirstNames(List<Student> students) {
+        return delegate.getDistinctFirstNames(students);
+    }
+
+    @Override
+    public String getMaxStudentFirstName(List<Student> students) {
+        return delegate.getMaxStudentFirstName(students);
+    }
+
+    @Override
+    public List<Student> sortStudentsById(Collection<Student> students) {
+        return cached(students, "sortStudentsById", null,
+                () -> List.copyOf(delegate.sortStudentsById(students)));
+    }
+
+    @Override
+    public List<Student> sortStudentsByName(Collection<Student> students) {
+        return cached(students, "sortStudentsByName", null,
+                () -> List.copyOf(delegate.sortStudentsByName(students)));
+    }
+
+    @Override
+    public List<Student> findStudentsByFirstName(Collection<Student> students, String name) {
+        return cached(students, "findStudentsByFirstName", name,
+                () -> List.copyOf(delegate.findStudentsByFirstName(students, name)));
+    }
+
+    @Override
+    public List<Student> findStudentsByLastName(Collection<Student> students, String name) {
+        return cached(students, "findStudentsByLastName", name,
+                () -> List.copyOf(delegate.findStudentsByLastName(students, name)));
+    }
+
+    @Override
+    public List<Student> findStudentsByGroup(Collection<Student> students, GroupName group) {
+        return cached(students, "findStudentsByGroup", group,
+                () -> List.copyOf(delegate.findStudentsByGroup(students, group)));
+    }
+
+    @Override
+    public Map<String, String> findStudentNamesByGroup(Collection<Student> students, GroupName group) {
+        return cached(students, "findStudentNamesByGroup", group,
+                () -> Collections.unmodifiableMap(delegate.findStudentNamesByGroup(students, group)));
+    }
+
+    @Override
+    public List<Group> getGroupsByName(Collection<Student> students) {
+        return cached(students, "getGroupsByName", null,
+                () -> List.copyOf(delegate.getGroupsByName(students)));
+    }
+
+    @Override
+    public List<Group> getGroupsById(Collection<Student> students) {
+        return cached(students, "getGroupsById", null,
+                () -> List.copyOf(delegate.getGroupsById(students)));
+    }
+
+    @Override
+    public GroupName getLargestGroup(Collection<Student> students) {
+        return cached(students, "getLargestGroup", null, () -> delegate.getLargestGroup(students));
+    }
+
+    @Override
+    public GroupName getLargestGroupFirstName(Collection<Student> students) {
+        return cached(students, "getLargestGroupFirstName", null, () -> delegate.getLargestGroupFirstName(students));
+    }
+
+    private record Key(long version, String query, Object argument) {
+    }
+
+    private static final class SnapshotReference extends WeakReference<Snapshot> {
+        private final long version;
+
+        private SnapshotReference(final Snapshot snapshot, final ReferenceQueue<Snapshot> queue) {
+            super(snapshot, queue);
+            this.version = snapshot.version();
+        }
+    }
+}
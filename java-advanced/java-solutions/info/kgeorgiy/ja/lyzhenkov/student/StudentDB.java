@@ -1,8 +1,8 @@
 package info.kgeorgiy.ja.lyzhenkov.student;
 
+import info.kgeorgiy.java.advanced.student.AdvancedQuery;
 import info.kgeorgiy.java.advanced.student.Group;
 import info.kgeorgiy.java.advanced.student.GroupName;
-import info.kgeorgiy.java.advanced.student.GroupQuery;
 import info.kgeorgiy.java.advanced.student.Student;
 
 import java.util.*;
@@ -13,12 +13,16 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class StudentDB implements GroupQuery {
+public class StudentDB implements AdvancedQuery {
 
+    private static final Comparator<Student> COMPARATOR_BY_ID_REVERSED = Comparator
+            .comparing(Student::getId)
+            .reversed();
     private static final Comparator<Student> COMPARATOR_BY_NAME = Comparator
             .comparing(Student::getLastName)
             .thenComparing(Student::getFirstName)
-            .thenComparing(Comparator.comparing(Student::getId).reversed());
+            .thenComparing(COMPARATOR_BY_ID_REVERSED);
+    private static final int KEY_SORT_THRESHOLD = 1 << 10;
 
     private static <T, R> List<R> mapStream(
             Collection<? extends T> collection,
@@ -44,7 +48,11 @@ public class StudentDB implements GroupQuery {
 
     @Override
     public List<String> getFullNames(List<Student> students) {
-        return mapStream(students, s -> s.getFirstName() + " " + s.getLastName());
+        return mapStream(students, StudentDB::getFullName);
+    }
+
+    private static String getFullName(Student student) {
+        return student.getFirstName() + " " + student.getLastName();
     }
 
     @Override
@@ -69,35 +77,74 @@ public class StudentDB implements GroupQuery {
         return sortStream(students, Student::compareTo).toList();
     }
 
-    private static <T> List<T> filterAndSort(
-            Collection<T> collection,
-            Predicate<? super T> predicate,
-            Comparator<? super T> comp
-    ) {
-        return collection.stream()
-                .filter(predicate)
-                .sorted(comp)
-                .toList();
+    private static List<Student> filterAndSort(Collection<Student> collection, Predicate<? super Student> predicate) {
+        return sortByName(collection.stream().filter(predicate).toList());
+    }
+
+    /**
+     * Sorts students by {@link #COMPARATOR_BY_NAME}. Large collections are sorted by precomputed keys:
+     * names are compared only among distinct values to get their ordinals, and the students are ordered
+     * by a primitive {@code long} sort of (name ordinal, index) keys. Students with equal names are then
+     * ordered by id.
+     */
+    private static List<Student> sortByName(Collection<Student> collection) {
+        if (collection.size() < KEY_SORT_THRESHOLD) {
+            return sortStream(collection, COMPARATOR_BY_NAME).toList();
+        }
+        final Student[] students = collection.toArray(Student[]::new);
+        final int[] lastNames = getOrdinals(students, Student::getLastName);
+        final int[] firstNames = getOrdinals(students, Student::getFirstName);
+        final long[] names = new long[students.length];
+        for (int i = 0; i < students.length; i++) {
+            names[i] = (long) lastNames[i] << Integer.SIZE | firstNames[i];
+        }
+        final long[] distinctNames = Arrays.stream(names).sorted().distinct().toArray();
+        final long[] keys = new long[students.length];
+        for (int i = 0; i < students.length; i++) {
+            keys[i] = (long) Arrays.binarySearch(distinctNames, names[i]) << Integer.SIZE | i;
+        }
+        Arrays.sort(keys);
+
+        final Student[] result = new Student[students.length];
+        for (int i = 0, from = 0; i < keys.length; i++) {
+            result[i] = students[(int) keys[i]];
+            if (i + 1 == keys.length || keys[i + 1] >>> Integer.SIZE != keys[i] >>> Integer.SIZE) {
+                if (i > from) {
+                    Arrays.sort(result, from, i + 1, COMPARATOR_BY_ID_REVERSED);
+                }
+                from = i + 1;
+            }
+        }
+        return List.of(result);
+    }
+
+    private static int[] getOrdinals(Student[] students, Function<? super Student, String> keyFunc) {
+        final String[] distinct = Arrays.stream(students).map(keyFunc).distinct().sorted().toArray(String[]::new);
+        final Map<String, Integer> ordinals = new HashMap<>(distinct.length * 2);
+        for (int i = 0; i < distinct.length; i++) {
+            ordinals.put(distinct[i], i);
+        }
+        return Arrays.stream(students).map(keyFunc).mapToInt(ordinals::get).toArray();
     }
 
     @Override
     public List<Student> sortStudentsByName(Collection<Student> students) {
-        return sortStream(students, COMPARATOR_BY_NAME).toList();
+        return sortByName(students);
     }
 
     @Override
     public List<Student> findStudentsByFirstName(Collection<Student> students, String name) {
-        return filterAndSort(students, student -> student.getFirstName().equals(name), COMPARATOR_BY_NAME);
+        return filterAndSort(students, student -> student.getFirstName().equals(name));
     }
 
     @Override
     public List<Student> findStudentsByLastName(Collection<Student> students, String name) {
-        return filterAndSort(students, student -> student.getLastName().equals(name), COMPARATOR_BY_NAME);
+        return filterAndSort(students, student -> student.getLastName().equals(name));
     }
 
     @Override
     public List<Student> findStudentsByGroup(Collection<Student> students, GroupName group) {
-        return filterAndSort(students, student -> student.getGroup().equals(group), COMPARATOR_BY_NAME);
+        return filterAndSort(students, student -> student.getGroup().equals(group));
     }
 
     @Override
@@ -121,7 +168,10 @@ public class StudentDB implements GroupQuery {
                 .toList();
     }
 
-    private static List<Group> getGroupsBy(Collection<Student> collection, Comparator<? super Student> comp) {
+    private static List<Group> getGroupsBy(
+            Collection<Student> collection,
+            Function<List<Student>, List<Student>> sorter
+    ) {
         return mapStream(
                 sortStream(
                         collectDataToMap(
@@ -130,18 +180,18 @@ public class StudentDB implements GroupQuery {
                         ),
                         Map.Entry.comparingByKey()
                 ).toList(),
-                pair -> new Group(pair.getKey(), sortStream(pair.getValue(), comp).toList())
+                pair -> new Group(pair.getKey(), sorter.apply(pair.getValue()))
         );
     }
 
     @Override
     public List<Group> getGroupsByName(Collection<Student> students) {
-        return getGroupsBy(students, COMPARATOR_BY_NAME);
+        return getGroupsBy(students, StudentDB::sortByName);
     }
 
     @Override
     public List<Group> getGroupsById(Collection<Student> students) {
-        return getGroupsBy(students, Student::compareTo);
+        return getGroupsBy(students, group -> sortStream(group, Student::compareTo).toList());
     }
 
     private static <U, K extends Comparable<? super K>> K getLargest(
@@ -177,4 +227,68 @@ public class StudentDB implements GroupQuery {
         return getLargest(students, Student::getGroup,
                 Student::getFirstName, Map.Entry.<GroupName, Integer>comparingByKey().reversed(), null);
     }
+
+    private static String getPopularName(
+            Collection<Student> collection,
+            Comparator<Map.Entry<String, Integer>> comp
+    ) {
+        return collectDataToMap(collection, Collectors.groupingBy(
+                Student::getFirstName,
+                Collectors.collectingAndThen(
+                        Collectors.mapping(
+                                Student::getGroup,
+                                Collectors.toCollection(() -> EnumSet.noneOf(GroupName.class))
+                        ),
+                        Set::size
+                )))
+                .stream()
+                .max(comp.thenComparing(Map.Entry.<String, Integer>comparingByKey().reversed()))
+                .map(Map.Entry::getKey)
+                .orElse("");
+    }
+
+    @Override
+    public String getMostPopularName(Collection<Student> students) {
+        return getPopularName(students, Map.Entry.comparingByValue());
+    }
+
+    @Override
+    public String getLeastPopularName(Collection<Student> students) {
+        return getPopularName(students, Map.Entry.<String, Integer>comparingByValue().reversed());
+    }
+
+    /**
+     * Maps only the students at the given indices. The collection is viewed as a list at most once:
+     * random access lists are used as is, other collections are copied a single time.
+     */
+    private static <T> List<T> getByIndices(
+            Collection<Student> collection,
+            int[] indices,
+            Function<? super Student, T> mapper
+    ) {
+        final List<Student> list = collection instanceof List<Student> && collection instanceof RandomAccess
+                ? (List<Student>) collection
+                : List.copyOf(collection);
+        return Arrays.stream(indices).mapToObj(list::get).map(mapper).toList();
+    }
+
+    @Override
+    public List<String> getFirstNames(Collection<Student> students, int[] indices) {
+        return getByIndices(students, indices, Student::getFirstName);
+    }
+
+    @Override
+    public List<String> getLastNames(Collection<Student> students, int[] indices) {
+        return getByIndices(students, indices, Student::getLastName);
+    }
+
+    @Override
+    public List<GroupName> getGroups(Collection<Student> students, int[] indices) {
+        return getByIndices(students, indices, Student::getGroup);
+    }
+
+    @Override
+    public List<String> getFullNames(Collection<Student> students, int[] indices) {
+        return getByIndices(students, indices, StudentDB::getFullName);
+    }
 }
@@ -0,0 +1,219 @@
+package info.kgeorgiy.ja.lyzhenkov.student;
+
+import info.kgeorgiy.java.advanced.student.GroupName;
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader of student rosters stored in CSV or in a compact binary format.
+ * <p>
+ * Records are read with a fixed-size buffer and passed to a consumer one by one, so a roster is never
+ * materialized unless the consumer collects it. Repeated first names are interned within a loader, so students
+ * read by the same loader share equal first name strings; the intern table keeps at most
+ * {@value #MAX_INTERNED_NAMES} most recently used names, so it stays bounded however many distinct names are read.
+ * Last names are mostly unique and are not interned. Groups are {@link GroupName} constants and are shared anyway.
+ * <p>
+ * CSV format: one student per line, {@code id,firstName,lastName,group}; empty lines are skipped.
+ * Binary format: magic number followed by records of {@code int} id, {@code byte} group ordinal,
+ * and first and last names, each as an unsigned {@code short} length and UTF-8 bytes.
+ */
+public class StudentLoader {
+
+    private static final int MAGIC = 0x53544442;
+    private static final int BUFFER_SIZE = 1 << 18;
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+    private static final GroupName[] GROUPS = GroupName.values();
+    private static final int MAX_INTERNED_NAMES = 1 << 16;
+    private final Map<String, String> firstNames = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            return size() > MAX_INTERNED_NAMES;
+        }
+    };
+
+    private String intern(final String firstName) {
+        final String interned = firstNames.putIfAbsent(firstName, firstName);
+        return interned == null ? firstName : interned;
+    }
+
+    /**
+     * Reads students from a CSV file.
+     *
+     * @param file     file to read.
+     * @param consumer receiver of the students in file order.
+     * @throws IOException if an I/O error occurs or the file contains a malformed record.
+     */
+    public void readCsv(final Path file, final Consumer<? super Student> consumer) throws IOException {
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                final String[] fields = line.split(",", -1);
+                if (fields.length != 4) {
+                    throw new IOException(String.format("Invalid record at line %d: %s", lineNumber, line));
+                }
+                try {
+                    consumer.accept(new Student(
+                            Integer.parseInt(fields[0].trim()),
+                            intern(fields[1].trim()),
+                            fields[2].trim(),
+                            GroupName.valueOf(fields[3].trim())
+                    ));
+                } catch (final IllegalArgumentException e) {
+                    throw new IOException(String.format("Invalid record at line %d: %s", lineNumber, line), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads students from a binary file written by {@link #writeBinary(Path, Iterable)}.
+     *
+     * @param file     file to read.
+     * @param consumer receiver of the students in file order.
+     * @throws IOException if an I/O error occurs or the file is not a valid roster.
+     */
+    public void readBinary(final Path file, final Consumer<? super Student> consumer) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).flip();
+            if (!fill(channel, buffer, Integer.BYTES) || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary roster: " + file);
+            }
+            final byte[] bytes = new byte[MAX_NAME_LENGTH];
+            while (fill(channel, buffer, Integer.BYTES + Byte.BYTES + Short.BYTES)) {
+                final int id = buffer.getInt();
+                final int group = Byte.toUnsignedInt(buffer.get());
+                if (group >= GROUPS.length) {
+                    throw new IOException("Invalid group ordinal: " + group);
+                }
+                final String firstName = intern(readName(channel, buffer, bytes));
+                requireFilled(channel, buffer, Short.BYTES);
+                final String lastName = readName(channel, buffer, bytes);
+                consumer.accept(new Student(id, firstName, lastName, GROUPS[group]));
+            }
+        }
+    }
+
+    private static String readName(final FileChannel channel, final ByteBuffer buffer, final byte[] bytes)
+            throws IOException {
+        final int length = Short.toUnsignedInt(buffer.getShort());
+        requireFilled(channel, buffer, length);
+        buffer.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static void requireFilled(final FileChannel channel, final ByteBuffer buffer, final int bytes)
+            throws IOException {
+        if (!fill(channel, buffer, bytes)) {
+            throw new EOFException("Truncated binary roster");
+        }
+    }
+
+    /**
+     * Makes at least {@code bytes} bytes available in the buffer, reading more from the channel if needed.
+     *
+     * @return {@code false} if the channel ended with no remaining bytes.
+     * @throws EOFException if the channel ended in the middle of the requested bytes.
+     */
+    private static boolean fill(final FileChannel channel, final ByteBuffer buffer, final int bytes)
+            throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                if (buffer.hasRemaining()) {
+                    throw new EOFException("Truncated binary roster");
+                }
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    /**
+     * Writes students in the binary format read by {@link #readBinary(Path, Consumer)}.
+     *
+     * @param file     file to write.
+     * @param students students to write.
+     * @throws IOException if an I/O error occurs or a name is longer than {@value #MAX_NAME_LENGTH} bytes.
+     */
+    public static void writeBinary(final Path file, final Iterable<Student> students) throws IOException {
+        try (var channel = FileChannel.open(file,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC);
+            for (final Student student : students) {
+                final byte[] firstName = encodeName(student.getFirstName());
+                final byte[] lastName = encodeName(student.getLastName());
+                final int length = Integer.BYTES + Byte.BYTES + 2 * Short.BYTES + firstName.length + lastName.length;
+                if (buffer.remaining() < length) {
+                    flush(channel, buffer);
+                }
+                buffer.putInt(student.getId())
+                        .put((byte) student.getGroup().ordinal())
+                        .putShort((short) firstName.length).put(firstName)
+                        .putShort((short) lastName.length).put(lastName);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static byte[] encodeName(final String name) throws IOException {
+        final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_LENGTH) {
+            throw new IOException("Name is too long: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Loads all students from a CSV file.
+     *
+     * @see #readCsv(Path, Consumer)
+     */
+    public List<Student> loadCsv(final Path file) throws IOException {
+        final List<Student> students = new ArrayList<>();
+        readCsv(file, students::add);
+        return students;
+    }
+
+    /**
+     * Loads all students from a binary file.
+     *
+     * @see #readBinary(Path, Consumer)
+     */
+    public List<Student> loadBinary(final Path file) throws IOException {
+        final List<Student> students = new ArrayList<>();
+        readBinary(file, students::add);
+        return students;
+    }
+}